@@ -0,0 +1,4 @@
+javac -d classes -cp src src/com/paradegame/benchmark/*.java || exit 1
+BENCHMARK=${1:-BenchmarkSuite}
+[ $# -gt 0 ] && shift
+java $JAVA_OPTS -cp classes com.paradegame.benchmark.$BENCHMARK "$@"
@@ -0,0 +1,4 @@
+javac -d classes -cp src check/com/paradegame/*/*.java || exit 1
+CHECK=${1:-ai.MoveRankingCheck}
+[ $# -gt 0 ] && shift
+java $JAVA_OPTS -cp classes com.paradegame.$CHECK "$@"
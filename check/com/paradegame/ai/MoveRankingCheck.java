@@ -0,0 +1,129 @@
+package com.paradegame.ai;
+
+import java.util.*;
+import com.paradegame.model.*;
+
+/**
+ * Checks that ranking the moves of the EasyAI and MediumAI without sorting picks the same card as a full sort,
+ * and leaves the hand in its original order.
+ *
+ * {@link MoveRanking#selectRank(int[], int, int)} is compared with a stable sort of the moves by score
+ * on seeded random scores with many ties, for every count from 1 to 8 and ranks past the last move.
+ * The AIs are then asked for a card in seeded games with hands cut down to every size from 1 to 5 cards,
+ * and their choices are compared with a full sort of the hand by the number and total value of the
+ * collected cards, as given by {@link Parade#simulateCollectedCards(Card)}.
+ *
+ * Usage: {@code check.bat ai.MoveRankingCheck [games]}, exiting with an exception on the first mismatch.
+ */
+public class MoveRankingCheck {
+    /**
+     * Prevents instantiation, as all methods are static.
+     */
+    private MoveRankingCheck() {
+    }
+
+    /**
+     * Compares selectRank with a full sort for random scores of every count and rank.
+     *
+     * @param rounds the number of random score arrays per count
+     * @return the number of comparisons made
+     * @throws IllegalStateException if selectRank picks a different move or changes the scores
+     */
+    static int checkSelectRank(int rounds) {
+        SplittableRandom random = new SplittableRandom(1);
+        int checks = 0;
+        for (int count = 1; count <= 8; count++) {
+            for (int round = 0; round < rounds; round++) {
+                // A small range of scores makes ties common
+                int[] scores = new int[count];
+                for (int i = 0; i < count; i++) {
+                    scores[i] = random.nextInt(4);
+                }
+                int[] original = scores.clone();
+                for (int rank = 0; rank <= count + 1; rank++) {
+                    int expected = sortedIndex(scores, rank);
+                    int actual = MoveRanking.selectRank(scores, count, rank);
+                    if (actual != expected || !Arrays.equals(scores, original)) {
+                        throw new IllegalStateException("selectRank(" + Arrays.toString(original) + ", " + rank
+                                + ") picked " + actual + " instead of " + expected);
+                    }
+                    checks++;
+                }
+            }
+        }
+        return checks;
+    }
+
+    /**
+     * Asks the EasyAI and MediumAI for a card in seeded games and compares their choices with a full sort.
+     *
+     * @param games the number of games to check
+     * @return the number of choices checked
+     * @throws IllegalStateException if an AI picks a different card or changes the order of its hand
+     */
+    static int checkAIs(int games) {
+        int checks = 0;
+        for (int game = 0; game < games; game++) {
+            for (int handSize = 1; handSize <= 5; handSize++) {
+                for (int ai = 0; ai < 2; ai++) {
+                    AIPlayer player = ai == 0 ? new EasyAI(1, "Easy") : new MediumAI(1, "Medium");
+                    List<Player> players = new ArrayList<>();
+                    players.add(player);
+                    players.add(new HardAI(2, "Hard"));
+                    GameState state = new GameState(players, game);
+                    while (player.getHand().size() > handSize) {
+                        player.removeFromHand(player.getHand().get(0));
+                    }
+
+                    List<Card> hand = new ArrayList<>(player.getHand());
+                    int[] scores = new int[hand.size()];
+                    for (int i = 0; i < hand.size(); i++) {
+                        List<Card> collected = state.getParade().simulateCollectedCards(hand.get(i));
+                        scores[i] = ai == 0 ? collected.size() : collected.stream().mapToInt(Card::getValue).sum();
+                    }
+                    Card expected = hand.get(sortedIndex(scores, ai == 0 ? 2 : 1));
+
+                    Card chosen = player.chooseCard(state.getView(0));
+                    if (chosen != expected) {
+                        throw new IllegalStateException(player.getClass().getSimpleName() + " chose " + chosen
+                                + " instead of " + expected + " from " + hand);
+                    }
+                    if (!hand.equals(player.getHand())) {
+                        throw new IllegalStateException(player.getClass().getSimpleName() + " reordered its hand "
+                                + hand + " to " + player.getHand());
+                    }
+                    checks++;
+                }
+            }
+        }
+        return checks;
+    }
+
+    /**
+     * Finds the move at a rank by fully sorting the moves by score, keeping the order of moves with equal scores.
+     * If there are fewer moves than the rank, the move with the highest score is returned.
+     *
+     * @param scores the score of each move
+     * @param rank the rank of the move to find, 0 for the lowest score
+     * @return the index of the move at that rank
+     */
+    private static int sortedIndex(int[] scores, int rank) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(i -> scores[i]));
+        return order.get(Math.min(rank, scores.length - 1));
+    }
+
+    /**
+     * Runs both checks and prints the number of comparisons made.
+     *
+     * @param args an optional number of games to check the AIs in
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        System.out.println("selectRank: " + checkSelectRank(1000) + " ranks match a full sort");
+        System.out.println("EasyAI and MediumAI: " + checkAIs(games) + " choices match a full sort, hands unchanged");
+    }
+}
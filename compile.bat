@@ -1 +1 @@
-javac -d classes -cp src src/com/paradegame/ParadeGame.java
\ No newline at end of file
+javac -d classes -cp src src/com/paradegame/ParadeGame.java src/com/paradegame/simulation/Tournament.java
\ No newline at end of file
@@ -1 +1 @@
-javadoc -d docs src/com/paradegame/ai/* src/com/paradegame/controller/* src/com/paradegame/model/* src/com/paradegame/util/* src/com/paradegame/view/* src/com/paradegame/ParadeGame.java
\ No newline at end of file
+javadoc -d docs src/com/paradegame/ai/* src/com/paradegame/benchmark/* src/com/paradegame/controller/* src/com/paradegame/model/* src/com/paradegame/search/* src/com/paradegame/simulation/* src/com/paradegame/util/* src/com/paradegame/view/* src/com/paradegame/ParadeGame.java
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.paradegame.ai;
 
-import java.util.*;
+import java.util.List;
 import com.paradegame.model.*;
 
 /**
@@ -8,8 +8,15 @@ import com.paradegame.model.*;
  * It extends the Player class and provides abstract methods for AI decision-making.
  * Concrete implementations should define how the AI chooses cards and discards.
  * This class is extended by EasyAI, MediumAI and HardAI class.
+ *
+ * Every AI player keeps a {@link CardTracker} of the cards it has seen. The game engine tells each AI
+ * player about the game when it starts and about every card played and collected afterwards, and the
+ * player records the cards it draws itself, so the cards still unseen are known at any time without
+ * scanning the collected piles.
  */
 public abstract class AIPlayer extends Player {
+    private final CardTracker cardTracker = new CardTracker();
+
     /**
      * Constructs a new AIPlayer instance with the given id and name.
      *
@@ -20,24 +27,91 @@ public abstract class AIPlayer extends Player {
         super(id, name);
     }
 
+    /**
+     * Adds a card to the AI player's hand and marks it as seen.
+     *
+     * @param card the card to be added
+     */
+    @Override
+    public void addToHand(Card card) {
+        super.addToHand(card);
+        cardTracker.reveal(card);
+    }
+
+    /**
+     * Starts following a game in which this player takes part.
+     *
+     * @param view the game being started or joined, as seen by this player
+     */
+    public void observeGameStart(GameView view) {
+        cardTracker.observe(view);
+    }
+
+    /**
+     * Records a card played to the parade by any player.
+     *
+     * @param seat the index of the player who played the card
+     * @param card the played card
+     */
+    public void observeCardPlayed(int seat, Card card) {
+        cardTracker.reveal(card);
+    }
+
+    /**
+     * Records cards added to the collected pile of any player.
+     *
+     * @param seat the index of the player who collected the cards
+     * @param cards the collected cards
+     */
+    public void observeCardsCollected(int seat, List<Card> cards) {
+        for (Card card : cards) {
+            cardTracker.revealCollected(seat, card);
+        }
+    }
+
+    /**
+     * Gets the tracker of the cards this player has seen in the game it is following.
+     *
+     * @return the card tracker
+     */
+    public CardTracker getCardTracker() {
+        return cardTracker;
+    }
+
+    /**
+     * Creates a sampler of determinizations of a game as seen by the player of a view.
+     * If this player has followed the game through that view, the unseen cards are taken from
+     * its card tracker; otherwise they are worked out from the view.
+     *
+     * @param view the game as seen by the player who is choosing a move
+     * @return the sampler of the game as seen by that player
+     */
+    protected Determinizer createDeterminizer(GameView view) {
+        CardTracker tracker = cardTracker.isTracking(view) ? cardTracker : CardTracker.of(view);
+        return new Determinizer(CompactGameState.fromObservation(view, tracker), view.getPlayerIndex());
+    }
+
     /**
      * Abstract method for the AI to choose a card to play from its hand.
      * Subclasses must implement their own logic for choosing a card to play.
+     * The view shows everything the player may know, such as the parade, their own hand,
+     * the collected cards and the number of cards left in each hand and the deck,
+     * and cannot be used to change the game.
      *
-     * @param parade the current state of the Parade
+     * @param view the current state of the game as seen by the AI
      * @return the chosen Card to play
      */
-    public abstract Card chooseCard(Parade parade);
+    public abstract Card chooseCard(GameView view);
 
     /**
      * Abstract method for the AI to choose cards to discard from its hand.
-     * Subclasses must implement their own logic for discarding cards.
+     * Subclasses must implement their own logic for discarding cards, under the same restrictions
+     * as {@link #chooseCard(GameView)}.
      *
-     * @param hand the list of cards in the AI's hand
-     * @param allPlayers the list of all players in the game
+     * @param view the current state of the game as seen by the AI
      * @return an array of two integers, each representing the index of a card to discard from the hand
      */
-    public abstract int[] chooseDiscards(List<Card> hand, List<Player> allPlayers);
+    public abstract int[] chooseDiscards(GameView view);
 
     /**
      * Returns a string representation of the AI player.
@@ -0,0 +1,98 @@
+package com.paradegame.ai;
+
+import java.util.random.RandomGenerator;
+import com.paradegame.model.*;
+
+/**
+ * Samples determinizations of a game from one player's point of view, as used by the search-based AI players.
+ *
+ * A determinization is one of the complete games consistent with what the player has seen: the cards
+ * that are neither in the parade, in the player's hand nor in any collected pile are dealt at random
+ * into the other players' hands and the deck, keeping every hand size and the number of cards left
+ * in the deck. Every such deal is equally likely, as the unseen cards are shuffled with a Fisher-Yates
+ * shuffle.
+ *
+ * The observation is built once per decision, and each sample is then copied into a state owned by
+ * the caller without allocating. A Determinizer is not changed by sampling, so it can be shared by
+ * any number of threads, each with its own state and random generator.
+ */
+public final class Determinizer {
+    private final CompactGameState observation;
+    private final int observer;
+
+    /**
+     * Constructs a new Determinizer for the current player of a game.
+     * The other players' hands and the order of the deck are not read.
+     *
+     * @param gameState the current state of the game
+     */
+    public Determinizer(GameState gameState) {
+        this(gameState, gameState.getCurrentPlayerIndex());
+    }
+
+    /**
+     * Constructs a new Determinizer for a player of a game.
+     * The other players' hands and the order of the deck are not read.
+     *
+     * @param gameState the current state of the game
+     * @param observer the index of the player whose view is sampled
+     */
+    public Determinizer(GameState gameState, int observer) {
+        this(CompactGameState.fromObservation(gameState, observer), observer);
+    }
+
+    /**
+     * Constructs a new Determinizer from a compact state, whose hidden cards are resampled by every call to
+     * {@link #sample(CompactGameState, RandomGenerator)}. The state must not be changed afterwards.
+     *
+     * @param observation the game state, holding any consistent placement of the cards the observer cannot see
+     * @param observer the index of the player whose view is sampled
+     */
+    public Determinizer(CompactGameState observation, int observer) {
+        this.observation = observation;
+        this.observer = observer;
+    }
+
+    /**
+     * Writes a uniformly random determinization into a state of the same number of players.
+     *
+     * @param world the state receiving the determinization
+     * @param random the random generator used to deal the unseen cards
+     */
+    public void sample(CompactGameState world, RandomGenerator random) {
+        world.copyFrom(observation);
+        world.determinize(observer, random);
+    }
+
+    /**
+     * Gets the game as seen by the observer, with the unseen cards in an arbitrary placement.
+     * The state is shared and must not be changed.
+     *
+     * @return the observed game state
+     */
+    public CompactGameState getObservation() {
+        return observation;
+    }
+
+    /**
+     * Gets the index of the player whose view is sampled.
+     *
+     * @return the index of the observer
+     */
+    public int getObserver() {
+        return observer;
+    }
+
+    /**
+     * Gets the number of cards the observer cannot see, in the other players' hands and the deck.
+     *
+     * @return the number of unseen cards
+     */
+    public int getUnseenCount() {
+        int unseen = observation.getDeckSize();
+        for (int p = 0; p < observation.getNumPlayers(); p++) {
+            unseen += p == observer ? 0 : observation.getHandSize(p);
+        }
+        return unseen;
+    }
+}
@@ -0,0 +1,121 @@
+package com.paradegame.ai;
+
+import java.util.List;
+import com.paradegame.model.*;
+
+/**
+ * Chooses the two cards to discard that minimise the estimated final score of a player,
+ * as used by the MediumAI and HardAI classes.
+ *
+ * The player's collected cards are assumed to end up with every hand card except the two discards.
+ * A colour is counted as flipped when no other player holds more cards of it, where every opponent
+ * may be credited with a fixed number of extra cards per colour for the cards they have yet to collect.
+ *
+ * The colour totals of the player and the opponents' best counts are computed once per decision,
+ * and each pair of discards is then scored as a change to at most two colours, so the evaluation
+ * of all pairs works on primitive arrays and does not allocate.
+ */
+public class DiscardEvaluator {
+    private static final int COLOURS = Card.COLOURS;
+
+    private final int opponentBonus;
+    private final int[] counts = new int[COLOURS];
+    private final int[] values = new int[COLOURS];
+    private final int[] othersMax = new int[COLOURS];
+    private final int[] contributions = new int[COLOURS];
+    private int[] handColours = new int[8];
+    private int[] handValues = new int[8];
+
+    /**
+     * Constructs a new DiscardEvaluator.
+     *
+     * @param opponentBonus the number of extra cards of every colour each opponent is expected to collect
+     */
+    public DiscardEvaluator(int opponentBonus) {
+        this.opponentBonus = opponentBonus;
+    }
+
+    /**
+     * Chooses the two cards to discard from a player's hand.
+     * Ties are broken in favour of the first pair found, scanning pairs in index order.
+     *
+     * @param view the game as seen by the player who is discarding
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    public int[] chooseDiscards(GameView view) {
+        int self = view.getPlayerIndex();
+        List<Card> hand = view.getHand();
+        int handSize = hand.size();
+        if (handColours.length < handSize) {
+            handColours = new int[handSize];
+            handValues = new int[handSize];
+        }
+
+        // Totals if the whole hand were collected, and the most cards any opponent could hold
+        for (int c = 0; c < COLOURS; c++) {
+            counts[c] = view.getCollectedCount(self, c);
+            values[c] = view.getCollectedValue(self, c);
+            othersMax[c] = Integer.MIN_VALUE;
+        }
+        for (int k = 0; k < handSize; k++) {
+            Card card = hand.get(k);
+            handColours[k] = card.getColour().ordinal();
+            handValues[k] = card.getValue();
+            counts[handColours[k]]++;
+            values[handColours[k]] += handValues[k];
+        }
+        for (int other = 0; other < view.getNumPlayers(); other++) {
+            if (other == self) {
+                continue;
+            }
+            for (int c = 0; c < COLOURS; c++) {
+                othersMax[c] = Math.max(othersMax[c], view.getCollectedCount(other, c) + opponentBonus);
+            }
+        }
+
+        int baseScore = 0;
+        for (int c = 0; c < COLOURS; c++) {
+            contributions[c] = contribution(c, counts[c], values[c]);
+            baseScore += contributions[c];
+        }
+
+        // Score each pair as a change to the colours of the two discarded cards
+        int[] bestDiscards = {0, 1};
+        int minScore = Integer.MAX_VALUE;
+        for (int i = 0; i < handSize; i++) {
+            int ci = handColours[i];
+            for (int j = i + 1; j < handSize; j++) {
+                int cj = handColours[j];
+                int score;
+                if (ci == cj) {
+                    score = baseScore - contributions[ci]
+                            + contribution(ci, counts[ci] - 2, values[ci] - handValues[i] - handValues[j]);
+                } else {
+                    score = baseScore - contributions[ci] - contributions[cj]
+                            + contribution(ci, counts[ci] - 1, values[ci] - handValues[i])
+                            + contribution(cj, counts[cj] - 1, values[cj] - handValues[j]);
+                }
+
+                if (score < minScore) {
+                    minScore = score;
+                    bestDiscards[0] = i;
+                    bestDiscards[1] = j;
+                }
+            }
+        }
+        return bestDiscards;
+    }
+
+    /**
+     * Gets the points a colour contributes to the player's score.
+     * The colour is flipped, making each card worth 1 point, unless an opponent holds more cards of it.
+     *
+     * @param colour the ordinal of the colour
+     * @param count the number of cards of the colour the player would hold
+     * @param value the total value of those cards
+     * @return the points contributed by the colour
+     */
+    private int contribution(int colour, int count, int value) {
+        return othersMax[colour] > count ? value : count;
+    }
+}
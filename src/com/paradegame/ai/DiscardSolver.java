@@ -0,0 +1,280 @@
+package com.paradegame.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import com.paradegame.model.*;
+
+/**
+ * Chooses the two cards to discard that minimise a player's expected final rank,
+ * taking into account the discards still to be made by the other players.
+ *
+ * Once the discard phase has started no more cards are played, so the final collected piles only depend
+ * on which two cards each player discards. The cards the player cannot see are sampled with
+ * determinizations, and in each one every combination of discard pairs of the opponents who have yet
+ * to discard is enumerated, each combination being equally likely. If there are more combinations than
+ * the budget, that many combinations are sampled instead. Every resulting ending is scored exactly with
+ * the {@link ScoreCalculator}, and the player's rank is counted as two points for every opponent with
+ * a lower score and one for every tie.
+ *
+ * The final colour totals of every opponent for each of their pairs are computed once per determinization,
+ * so scoring an ending only copies a few rows of totals. The player's own pairs are evaluated in parallel,
+ * all against the same determinizations and combinations. The determinizations are seeded from the hash of
+ * the position, so the same position always leads to the same choice.
+ */
+public class DiscardSolver {
+    private static final int COLOURS = Card.COLOURS;
+
+    private final int samples;
+    private final int combinationBudget;
+
+    /**
+     * Constructs a new DiscardSolver.
+     *
+     * @param samples the number of determinizations of the hidden cards to evaluate
+     * @param combinationBudget the largest number of opponent discard combinations enumerated per determinization
+     */
+    public DiscardSolver(int samples, int combinationBudget) {
+        this.samples = Math.max(samples, 1);
+        this.combinationBudget = Math.max(combinationBudget, 1);
+    }
+
+    /**
+     * Chooses the two cards a player should discard.
+     *
+     * @param view the game as seen by the discarding player, which must be in the discard phase
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    public int[] chooseDiscards(GameView view) {
+        return chooseDiscards(CompactGameState.fromObservation(view, CardTracker.of(view)));
+    }
+
+    /**
+     * Chooses the two cards the current player of a compact game should discard.
+     * Only the current player's hand is relied on; the other hands and the deck are determinized.
+     * Ties are broken in favour of the first pair found, scanning pairs in index order.
+     *
+     * @param root the current state of the game, which must be in the discard phase
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    public int[] chooseDiscards(CompactGameState root) {
+        int self = root.getCurrentPlayer();
+        int numPlayers = root.getNumPlayers();
+        int handSize = root.getHandSize(self);
+        int pairCount = handSize * (handSize - 1) / 2;
+        if (pairCount <= 1) {
+            return new int[] {0, 1};
+        }
+
+        // Without opponents left to discard, the hidden cards do not affect the ending
+        boolean opponentsPending = false;
+        for (int p = 0; p < numPlayers; p++) {
+            opponentsPending |= p != self && isPending(root.getHandSize(p));
+        }
+        int worldCount = opponentsPending ? samples : 1;
+
+        Determinizer determinizer = new Determinizer(root, self);
+        SplittableRandom random = new SplittableRandom(root.getHash());
+        CompactGameState world = new CompactGameState(numPlayers);
+        World[] worlds = new World[worldCount];
+        for (int w = 0; w < worldCount; w++) {
+            determinizer.sample(world, random);
+            worlds[w] = new World(world, self, random);
+        }
+
+        long[] losses = new long[pairCount];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(pairCount);
+        int pair = 0;
+        for (int i = 0; i < handSize; i++) {
+            for (int j = i + 1; j < handSize; j++) {
+                int first = i;
+                int second = j;
+                int index = pair++;
+                tasks.add(ForkJoinTask.adapt(() -> losses[index] = evaluate(root, self, first, second, worlds)));
+            }
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int best = 0;
+        for (int p = 1; p < pairCount; p++) {
+            if (losses[p] < losses[best]) {
+                best = p;
+            }
+        }
+        for (int i = 0, p = 0; i < handSize; i++) {
+            for (int j = i + 1; j < handSize; j++, p++) {
+                if (p == best) {
+                    return new int[] {i, j};
+                }
+            }
+        }
+        return new int[] {0, 1};
+    }
+
+    /**
+     * Adds up the rank of the player over every ending of every determinization, when discarding a pair.
+     *
+     * @param root the current state of the game
+     * @param self the index of the discarding player
+     * @param first the index of the first card to discard
+     * @param second the index of the second card to discard
+     * @param worlds the determinizations with their opponent discard combinations
+     * @return the total rank points lost, lower being better
+     */
+    private static long evaluate(CompactGameState root, int self, int first, int second, World[] worlds) {
+        int numPlayers = root.getNumPlayers();
+        int[] counts = new int[numPlayers * COLOURS];
+        int[] values = new int[numPlayers * COLOURS];
+        int[] scores = new int[numPlayers];
+
+        long loss = 0;
+        for (World world : worlds) {
+            System.arraycopy(world.counts, 0, counts, 0, counts.length);
+            System.arraycopy(world.values, 0, values, 0, values.length);
+            for (int k = 0; k < root.getHandSize(self); k++) {
+                if (k != first && k != second) {
+                    int id = root.getHandCard(self, k);
+                    counts[self * COLOURS + Card.colourOf(id)]++;
+                    values[self * COLOURS + Card.colourOf(id)] += Card.valueOf(id);
+                }
+            }
+
+            for (int combination = 0; combination < world.combinationCount; combination++) {
+                for (int o = 0; o < world.opponents.length; o++) {
+                    int row = world.combinations[combination * world.opponents.length + o];
+                    System.arraycopy(world.keptCounts[o], row * COLOURS, counts, world.opponents[o] * COLOURS, COLOURS);
+                    System.arraycopy(world.keptValues[o], row * COLOURS, values, world.opponents[o] * COLOURS, COLOURS);
+                }
+                ScoreCalculator.calculateScores(counts, values, numPlayers, scores);
+                for (int p = 0; p < numPlayers; p++) {
+                    if (p != self) {
+                        loss += scores[p] < scores[self] ? 2 : scores[p] == scores[self] ? 1 : 0;
+                    }
+                }
+            }
+        }
+        return loss;
+    }
+
+    /**
+     * Checks whether a player with the given hand size still has to discard.
+     *
+     * @param handSize the number of cards in the player's hand
+     * @return {@code true} if the player holds the number of cards of the discard phase
+     */
+    private static boolean isPending(int handSize) {
+        return handSize > 2 && handSize <= 4;
+    }
+
+    /**
+     * One determinization of the hidden cards, with the final colour totals of every opponent
+     * for each of their discard pairs and the combinations of pairs to evaluate.
+     */
+    private class World {
+        private final int[] counts;
+        private final int[] values;
+        private final int[] opponents;
+        private final int[][] keptCounts;
+        private final int[][] keptValues;
+        private final int[] combinations;
+        private final int combinationCount;
+
+        /**
+         * Prepares a determinization for evaluation.
+         *
+         * @param state the determinized game
+         * @param self the index of the discarding player
+         * @param random the random generator used to sample combinations if there are too many to enumerate
+         */
+        World(CompactGameState state, int self, SplittableRandom random) {
+            int numPlayers = state.getNumPlayers();
+            counts = state.getCollectedCounts().clone();
+            values = state.getCollectedValues().clone();
+
+            int opponentCount = 0;
+            for (int p = 0; p < numPlayers; p++) {
+                if (p != self && isPending(state.getHandSize(p))) {
+                    opponentCount++;
+                }
+            }
+            opponents = new int[opponentCount];
+            keptCounts = new int[opponentCount][];
+            keptValues = new int[opponentCount][];
+            int[] pairCounts = new int[opponentCount];
+
+            long total = 1;
+            for (int p = 0, o = 0; p < numPlayers; p++) {
+                if (p == self || !isPending(state.getHandSize(p))) {
+                    continue;
+                }
+                opponents[o] = p;
+                preparePairs(state, p, o);
+                pairCounts[o] = keptCounts[o].length / COLOURS;
+                total = Math.min(total * pairCounts[o], (long) combinationBudget + 1);
+                o++;
+            }
+
+            // Enumerate every combination in odometer order, or sample them if there are too many
+            combinationCount = (int) Math.min(total, combinationBudget);
+            combinations = new int[combinationCount * opponentCount];
+            for (int c = 0; c < combinationCount; c++) {
+                int rest = c;
+                for (int o = 0; o < opponentCount; o++) {
+                    if (total <= combinationBudget) {
+                        combinations[c * opponentCount + o] = rest % pairCounts[o];
+                        rest /= pairCounts[o];
+                    } else {
+                        combinations[c * opponentCount + o] = random.nextInt(pairCounts[o]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Computes an opponent's final colour totals for each pair of cards they could discard.
+         *
+         * @param state the determinized game
+         * @param player the index of the opponent
+         * @param o the index of the opponent among those still to discard
+         */
+        private void preparePairs(CompactGameState state, int player, int o) {
+            int handSize = state.getHandSize(player);
+            int pairCount = handSize * (handSize - 1) / 2;
+            keptCounts[o] = new int[pairCount * COLOURS];
+            keptValues[o] = new int[pairCount * COLOURS];
+            int row = 0;
+            for (int i = 0; i < handSize; i++) {
+                for (int j = i + 1; j < handSize; j++, row++) {
+                    System.arraycopy(counts, player * COLOURS, keptCounts[o], row * COLOURS, COLOURS);
+                    System.arraycopy(values, player * COLOURS, keptValues[o], row * COLOURS, COLOURS);
+                    for (int k = 0; k < handSize; k++) {
+                        if (k != i && k != j) {
+                            int id = state.getHandCard(player, k);
+                            keptCounts[o][row * COLOURS + Card.colourOf(id)]++;
+                            keptValues[o][row * COLOURS + Card.colourOf(id)] += Card.valueOf(id);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of determinizations evaluated per decision when other players have yet to discard.
+     *
+     * @return the number of determinizations
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Gets the largest number of opponent discard combinations enumerated per determinization.
+     *
+     * @return the combination budget
+     */
+    public int getCombinationBudget() {
+        return combinationBudget;
+    }
+}
@@ -13,6 +13,8 @@ import java.util.List;
  * When discarding, it selects the two cards with the highest values.
  */
 public class EasyAI extends AIPlayer {
+    private final ParadePreview preview = new ParadePreview();
+    private int[] collectSizes = new int[8];
 
     /**
      * Constructs a new EasyAI player with the given id and name.
@@ -28,59 +30,39 @@ public class EasyAI extends AIPlayer {
      * Chooses a card to play from the AI's hand based on how many cards would be collected.
      * 
      * For each card in hand, this method simulates how many cards the AI would collect if that card were played.
-     * It sorts the cards from least to most collected and picks the third option.
+     * It ranks the cards from least to most collected and picks the third option, without reordering the hand.
      * 
      * If the AI has fewer than three cards, it selects the second card, or the first if only one is available.
      *
-     * @param parade the current parade of cards
+     * @param view the current state of the game as seen by the AI
      * @return the card chosen by the AI to play
      */
     @Override
-    public Card chooseCard(Parade parade) {
-        List<Card> hand = getHand();
-        int[] collectSizes = new int[hand.size()];
-
-        // Step 1: Simulate each card and get size of collected cards
-        for (int i = 0; i < hand.size(); i++) {
-            collectSizes[i] = parade.simulateCollectedCards(hand.get(i)).size();
+    public Card chooseCard(GameView view) {
+        List<Card> hand = view.getHand();
+        if (collectSizes.length < hand.size()) {
+            collectSizes = new int[hand.size()];
         }
 
-        // Step 2: Sort both hand and sizes based on size (ascending)
+        // Simulate every card in one batched preview and get size of collected cards
+        view.previewHand(preview);
         for (int i = 0; i < hand.size(); i++) {
-            for (int j = i + 1; j < hand.size(); j++) {
-                if (collectSizes[i] > collectSizes[j]) {
-                    // Swap sizes
-                    int tempSize = collectSizes[i];
-                    collectSizes[i] = collectSizes[j];
-                    collectSizes[j] = tempSize;
-
-                    // Swap corresponding cards in hand
-                    Card tempCard = hand.get(i);
-                    hand.set(i, hand.get(j));
-                    hand.set(j, tempCard);
-                }
-            }
+            collectSizes[i] = preview.getCount(i);
         }
 
-        // Step 3: Return the card that gives the 3rd least number of collected cards
-        if (hand.size() >= 3) {
-            return hand.get(2);  // 3rd least
-        } else if (hand.size() == 2) {
-            return hand.get(1);  // 2nd least
-        } else {
-            return hand.get(0);  // only one option
-        }
+        // Return the card that gives the 3rd least number of collected cards, or the 2nd least or only one if fewer
+        return hand.get(MoveRanking.selectRank(collectSizes, hand.size(), 2));
     }
 
     /**
      * Chooses two cards with the highest values to discard from the AI's hand.
      *
-     * @param hand      the list of cards in the player's hand
-     * @param allPlayers the list of all players in the game
+     * @param view the current state of the game as seen by the AI
      * @return an array of two integers, each representing the index of a card to discard from the hand
      */
     @Override
-    public int[] chooseDiscards(List<Card> hand, List<Player> allPlayers) {
+    public int[] chooseDiscards(GameView view) {
+        List<Card> hand = view.getHand();
         int first = 0;
         int second = 1;
 
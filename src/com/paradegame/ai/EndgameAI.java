@@ -0,0 +1,159 @@
+package com.paradegame.ai;
+
+import java.util.SplittableRandom;
+import com.paradegame.model.*;
+import com.paradegame.search.*;
+import com.paradegame.util.Config;
+
+/**
+ * A variant of the MonteCarloAI that plays the end of the game exactly.
+ *
+ * Until the last round the moves are chosen by Monte Carlo playouts. Once the last round has started
+ * and the rest of the game is small enough for the {@link EndgameSolver} ({@code endgameNodeBudget}),
+ * the AI instead samples a number of determinizations of the other players' hands
+ * ({@code endgameDeterminizations}), solves every move in each of them exactly, and chooses the move
+ * with the best total value. The solved positions are cached in a transposition table of
+ * {@code endgameTableSize} entries, so positions shared between determinizations are solved only once.
+ */
+public class EndgameAI extends MonteCarloAI {
+    private final EndgameSolver solver;
+    private final TranspositionTable table;
+    private final int determinizations;
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a new EndgameAI player with the given id and name, using the budgets from the configuration.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     */
+    public EndgameAI(int id, String name) {
+        this(id, name, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new EndgameAI player with the given id, name and random seed, using the budgets from the configuration.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public EndgameAI(int id, String name, long seed) {
+        this(id, name, new TranspositionTable(Config.getInt("endgameTableSize", 1 << 20), ReplacementPolicy.DEPTH_AND_AGE),
+                seed);
+    }
+
+    /**
+     * Constructs a new EndgameAI player with the given id, name, transposition table and random seed,
+     * using the other budgets from the configuration. A table can be reused by one player after another,
+     * such as the players of consecutive games on one thread, but not by two players at once.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param table the transposition table caching solved positions
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public EndgameAI(int id, String name, TranspositionTable table, long seed) {
+        this(id, name, Config.getInt("endgameNodeBudget", 200000), Config.getInt("endgameDeterminizations", 16),
+                table, seed);
+    }
+
+    /**
+     * Constructs a new EndgameAI player with the given budgets and random seed.
+     * The Monte Carlo playouts before the endgame use the configured number of playouts and threads.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param nodeBudget the largest number of complete games a determinization may have to be solved
+     * @param determinizations the number of determinizations solved per move decision
+     * @param tableSize the number of entries of the transposition table
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public EndgameAI(int id, String name, long nodeBudget, int determinizations, int tableSize, long seed) {
+        this(id, name, nodeBudget, determinizations, new TranspositionTable(tableSize, ReplacementPolicy.DEPTH_AND_AGE),
+                seed);
+    }
+
+    /**
+     * Constructs a new EndgameAI player with the given budgets, transposition table and random seed.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param nodeBudget the largest number of complete games a determinization may have to be solved
+     * @param determinizations the number of determinizations solved per move decision
+     * @param table the transposition table caching solved positions
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    private EndgameAI(int id, String name, long nodeBudget, int determinizations, TranspositionTable table, long seed) {
+        super(id, name, Config.getInt("monteCarloPlayouts", 2000), Config.getInt("monteCarloThreads", 0), seed);
+        this.table = table;
+        this.solver = new EndgameSolver(table, nodeBudget);
+        this.determinizations = determinizations;
+        this.random = new SplittableRandom(~seed);
+    }
+
+    /**
+     * Chooses a card to play, solving the endgame if it is small enough.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return the chosen Card to play
+     */
+    @Override
+    public Card chooseCard(GameView view) {
+        int move = solveEndgame(view);
+        return move < 0 ? super.chooseCard(view) : Card.of(move);
+    }
+
+    /**
+     * Chooses two cards to discard, solving the endgame if it is small enough.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    @Override
+    public int[] chooseDiscards(GameView view) {
+        int move = solveEndgame(view);
+        return move < 0 ? super.chooseDiscards(view) : Moves.toDiscardIndices(view.getHand(), move);
+    }
+
+    /**
+     * Solves every move of the current player in several determinizations and returns the best one.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return the move with the best total value, or -1 if the endgame is too large to solve
+     */
+    private int solveEndgame(GameView view) {
+        Determinizer determinizer = createDeterminizer(view);
+        CompactGameState root = determinizer.getObservation();
+        if (!solver.canSolve(root)) {
+            return -1;
+        }
+        int[] moves = new int[Card.DECK_SIZE];
+        int moveCount = Moves.listMoves(root, moves);
+        if (moveCount == 1) {
+            return moves[0];
+        }
+
+        table.newSearch();
+        int self = root.getCurrentPlayer();
+        long[] totals = new long[moveCount];
+        CompactGameState world = new CompactGameState(root.getNumPlayers());
+        CompactGameState child = new CompactGameState(root.getNumPlayers());
+        for (int d = 0; d < determinizations; d++) {
+            determinizer.sample(world, random);
+            for (int m = 0; m < moveCount; m++) {
+                child.copyFrom(world);
+                Moves.apply(child, moves[m]);
+                totals[m] += solver.solve(child, self);
+            }
+        }
+
+        int best = 0;
+        for (int m = 1; m < moveCount; m++) {
+            if (totals[m] > totals[best]) {
+                best = m;
+            }
+        }
+        return moves[best];
+    }
+}
@@ -0,0 +1,265 @@
+package com.paradegame.ai;
+
+import java.util.Arrays;
+import com.paradegame.model.*;
+import com.paradegame.search.TranspositionTable;
+
+/**
+ * Solves the end of a game exactly, from the last round through the discard phase to the final scores.
+ *
+ * Once the last round has started, no more cards are drawn, so a game in which every hand is known has
+ * no chance left in it and can be searched to the end. The solver uses paranoid alpha-beta search: the
+ * player being solved for maximises their value, while all other players are assumed to work together
+ * to minimise it. The value of a finished game is the player's rank, counted as two points for every
+ * opponent with a higher score and one for every tie, with a lower own score breaking ties between
+ * equal ranks. Positions already solved are looked up in a {@link TranspositionTable}, which also
+ * remembers the best move of each position so that it is searched first next time.
+ *
+ * The number of positions grows quickly with the number of players and cards left, so the solver
+ * estimates the size of the remaining tree, and callers should only solve positions that fit their budget.
+ */
+public class EndgameSolver {
+    private static final int SCORE_RANGE = 1024;
+    private static final long PLAYER_KEY = 0x9E37_79B9_7F4A_7C15L;
+
+    private final TranspositionTable table;
+    private final long nodeBudget;
+    private CompactGameState[] stack = new CompactGameState[0];
+    private int[][] moves = new int[0][];
+    private int[] scores = new int[0];
+    private int player;
+    private int plies;
+    private long nodes;
+
+    /**
+     * Constructs a new EndgameSolver.
+     *
+     * @param table the table caching solved positions, which may be shared with other solvers
+     * @param nodeBudget the largest estimated tree size {@link #canSolve(CompactGameState)} accepts
+     */
+    public EndgameSolver(TranspositionTable table, long nodeBudget) {
+        this.table = table;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Checks whether a position is in the last round and its remaining tree fits the node budget.
+     *
+     * @param state the position
+     * @return {@code true} if the position can be solved, {@code false} otherwise
+     */
+    public boolean canSolve(CompactGameState state) {
+        return estimateTreeSize(state) <= nodeBudget;
+    }
+
+    /**
+     * Estimates the number of ways the rest of the game can be played, as the product of the number of moves
+     * available on every remaining turn. In the last round the number of moves on each turn does not depend
+     * on the moves chosen before, so this is the exact number of complete games.
+     *
+     * @param state the position
+     * @return the number of complete games, or {@code Long.MAX_VALUE} if the position is not in the last round
+     *         or the number is too large to count
+     */
+    public long estimateTreeSize(CompactGameState state) {
+        if (!state.isLastRound()) {
+            return Long.MAX_VALUE;
+        }
+        prepare(state.getNumPlayers());
+        CompactGameState walk = stack[0];
+        walk.copyFrom(state);
+        long size = 1;
+        while (!walk.isGameOver()) {
+            int handSize = walk.getHandSize(walk.getCurrentPlayer());
+            if (walk.isDiscardPhase()) {
+                size = multiply(size, handSize * (handSize - 1) / 2);
+                walk.discard(0, 1);
+            } else {
+                size = multiply(size, handSize);
+                walk.play(0);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Multiplies two counts, saturating at {@code Long.MAX_VALUE}.
+     *
+     * @param count the count so far
+     * @param factor the number of moves of a turn
+     * @return the product
+     */
+    private static long multiply(long count, int factor) {
+        return count > Long.MAX_VALUE / Math.max(factor, 1) ? Long.MAX_VALUE : count * Math.max(factor, 1);
+    }
+
+    /**
+     * Solves a position in the last round in which every hand is known.
+     *
+     * @param state the position, which is not changed
+     * @param player the index of the player to solve for
+     * @return the value of the position for the player, higher being better
+     */
+    public int solve(CompactGameState state, int player) {
+        int numPlayers = state.getNumPlayers();
+        prepare(numPlayers);
+        this.player = player;
+        this.plies = countPlies(state);
+        if (stack.length <= plies) {
+            grow(plies + 1, numPlayers);
+        }
+        stack[0].copyFrom(state);
+        return search(0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Searches the position at the given depth of the stack.
+     *
+     * @param depth the number of moves made since the root
+     * @param alpha the value the solved player is already assured of
+     * @param beta the value the other players can already hold the solved player to
+     * @return the value of the position, exact if it lies strictly between alpha and beta
+     */
+    private int search(int depth, int alpha, int beta) {
+        nodes++;
+        CompactGameState state = stack[depth];
+        if (state.isGameOver()) {
+            return evaluate(state);
+        }
+
+        // Values are from the solved player's point of view, so the key includes that player
+        long key = state.getHash() + player * PLAYER_KEY;
+        long entry = table.probe(key);
+        int firstMove = -1;
+        if (entry != TranspositionTable.MISS) {
+            int value = TranspositionTable.getValue(entry);
+            int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && value >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && value <= alpha)) {
+                return value;
+            }
+            firstMove = TranspositionTable.getMove(entry);
+        }
+
+        int[] stateMoves = moves[depth];
+        int moveCount = Moves.listMoves(state, stateMoves);
+        for (int m = 1; m < moveCount; m++) {
+            if (stateMoves[m] == firstMove) {
+                stateMoves[m] = stateMoves[0];
+                stateMoves[0] = firstMove;
+            }
+        }
+
+        boolean maximising = state.getCurrentPlayer() == player;
+        int best = maximising ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestMove = -1;
+        int a = alpha;
+        int b = beta;
+        CompactGameState child = stack[depth + 1];
+        for (int m = 0; m < moveCount && a < b; m++) {
+            child.copyFrom(state);
+            Moves.apply(child, stateMoves[m]);
+            int value = search(depth + 1, a, b);
+            if (maximising ? value > best : value < best) {
+                best = value;
+                bestMove = stateMoves[m];
+            }
+            if (maximising) {
+                a = Math.max(a, value);
+            } else {
+                b = Math.min(b, value);
+            }
+        }
+
+        int bound = best <= alpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, best, plies - depth, bound, bestMove);
+        return best;
+    }
+
+    /**
+     * Gets the value of a finished game for the solved player.
+     *
+     * @param state the finished game
+     * @return the player's rank points, with their score as a tie-break
+     */
+    private int evaluate(CompactGameState state) {
+        state.calculateScores(scores);
+        int rankPoints = 0;
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (p != player) {
+                rankPoints += scores[player] < scores[p] ? 2 : scores[player] == scores[p] ? 1 : 0;
+            }
+        }
+        return rankPoints * SCORE_RANGE - scores[player];
+    }
+
+    /**
+     * Counts the moves left until the end of a game in the last round, which is the same whichever moves are made.
+     *
+     * @param state the position
+     * @return the number of remaining moves
+     */
+    private int countPlies(CompactGameState state) {
+        CompactGameState walk = stack[0];
+        walk.copyFrom(state);
+        int count = 0;
+        while (!walk.isGameOver()) {
+            if (walk.isDiscardPhase()) {
+                walk.discard(0, 1);
+            } else {
+                walk.play(0);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Makes sure the search stack holds states for the given number of players.
+     *
+     * @param numPlayers the number of players in the game
+     */
+    private void prepare(int numPlayers) {
+        if (stack.length == 0 || stack[0].getNumPlayers() != numPlayers) {
+            stack = new CompactGameState[0];
+            grow(2 * numPlayers + 2, numPlayers);
+            scores = new int[numPlayers];
+        }
+    }
+
+    /**
+     * Grows the search stack to the given number of levels.
+     *
+     * @param levels the number of levels needed
+     * @param numPlayers the number of players in the game
+     */
+    private void grow(int levels, int numPlayers) {
+        int old = stack.length;
+        stack = Arrays.copyOf(stack, levels);
+        moves = Arrays.copyOf(moves, levels);
+        for (int level = old; level < levels; level++) {
+            stack[level] = new CompactGameState(numPlayers);
+            moves[level] = new int[Card.DECK_SIZE];
+        }
+    }
+
+    /**
+     * Gets the number of positions searched since the solver was created.
+     *
+     * @return the number of positions searched
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the largest estimated tree size this solver accepts.
+     *
+     * @return the node budget
+     */
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+}
@@ -0,0 +1,234 @@
+package com.paradegame.ai;
+
+import java.util.SplittableRandom;
+import com.paradegame.model.*;
+import com.paradegame.util.Config;
+
+/**
+ * An AI player that chooses its moves with information-set Monte Carlo tree search (ISMCTS).
+ *
+ * The AI cannot see the other players' hands or the order of the deck. Each iteration of the search
+ * therefore starts from a determinization: a copy of the game in which the hidden cards have been
+ * randomly redistributed among the other players' hands and the deck. A single tree of moves is
+ * shared by all determinizations, with moves identified by the cards played or discarded, and each
+ * iteration only follows moves that are possible in its determinization. A move is selected by its
+ * average reward plus an exploration bonus based on how often it was available, and each iteration
+ * ends with a quick playout to the end of the game, rewarding every player by their final rank.
+ *
+ * The search runs for a configurable number of iterations ({@code ismctsIterations}) and can be
+ * cut short by a time budget per move in milliseconds ({@code ismctsTimeMillis}, 0 for none).
+ * After the search, the move explored the most from the current position is chosen.
+ */
+public class ISMCTSAI extends AIPlayer {
+    private static final double EXPLORATION = 0.7;
+
+    private final int maxIterations;
+    private final long timeBudgetMillis;
+    private final SplittableRandom random;
+    private final Playout playout;
+    private final DiscardEvaluator fallbackDiscards = new DiscardEvaluator(2);
+    private final ParadePreview preview = new ParadePreview();
+    private final int[] moves = new int[Card.DECK_SIZE];
+    private final int[] untried = new int[Card.DECK_SIZE];
+
+    /**
+     * Constructs a new ISMCTSAI player with the given id and name,
+     * using the search budget from the configuration.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     */
+    public ISMCTSAI(int id, String name) {
+        this(id, name, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new ISMCTSAI player with the given id, name and random seed,
+     * using the search budget from the configuration.
+     * Players created with the same seed make the same choices in the same games,
+     * as long as no time budget cuts their searches short.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public ISMCTSAI(int id, String name, long seed) {
+        this(id, name, Config.getInt("ismctsIterations", 10000), Config.getInt("ismctsTimeMillis", 0), seed);
+    }
+
+    /**
+     * Constructs a new ISMCTSAI player with the given search budget and random seed.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param maxIterations the maximum number of search iterations per move
+     * @param timeBudgetMillis the maximum search time per move in milliseconds, or 0 for no limit
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public ISMCTSAI(int id, String name, int maxIterations, long timeBudgetMillis, long seed) {
+        super(id, name);
+        this.maxIterations = maxIterations;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.random = new SplittableRandom(seed);
+        this.playout = new Playout(random);
+    }
+
+    /**
+     * Chooses a card to play by searching the game tree.
+     * If no iterations could be run, the card that collects the least total value is chosen.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return the chosen Card to play
+     */
+    @Override
+    public Card chooseCard(GameView view) {
+        int move = search(view);
+        if (move >= 0) {
+            return Card.of(move);
+        }
+        view.previewHand(preview);
+        int best = 0;
+        for (int i = 1; i < preview.size(); i++) {
+            if (preview.getValue(i) < preview.getValue(best)) {
+                best = i;
+            }
+        }
+        return view.getHand().get(best);
+    }
+
+    /**
+     * Chooses two cards to discard by searching the game tree.
+     * If no iterations could be run, a {@link DiscardEvaluator} crediting each opponent with two extra cards per colour is used.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    @Override
+    public int[] chooseDiscards(GameView view) {
+        int move = search(view);
+        if (move < 0) {
+            return fallbackDiscards.chooseDiscards(view);
+        }
+        return Moves.toDiscardIndices(view.getHand(), move);
+    }
+
+    /**
+     * Runs the search from the current game state and returns the most visited move.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return the chosen move, or -1 if no iterations were run
+     */
+    private int search(GameView view) {
+        Determinizer determinizer = createDeterminizer(view);
+        CompactGameState state = new CompactGameState(view.getNumPlayers());
+        Node root = new Node(null, -1, -1);
+        int[] scores = new int[view.getNumPlayers()];
+        double[] rewards = new double[view.getNumPlayers()];
+        long deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000 : Long.MAX_VALUE;
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            if ((iteration & 63) == 63 && System.nanoTime() > deadline) {
+                break;
+            }
+            determinizer.sample(state, random);
+
+            Node node = select(root, state);
+            playout.run(state);
+            state.calculateScores(scores);
+            Playout.calculateRewards(state.getNumPlayers(), scores, rewards);
+
+            for (; node != root; node = node.parent) {
+                node.visits++;
+                node.totalReward += rewards[node.player];
+            }
+        }
+
+        Node best = null;
+        for (Node child = root.firstChild; child != null; child = child.nextSibling) {
+            if (best == null || child.visits > best.visits) {
+                best = child;
+            }
+        }
+        return best == null ? -1 : best.move;
+    }
+
+    /**
+     * Walks down the tree following moves that are possible in the determinization, applying them as it goes,
+     * until it reaches the end of the game or adds a new node for a move not tried before.
+     *
+     * @param root the root of the tree
+     * @param state the determinization, which is updated with the selected moves
+     * @return the last node reached
+     */
+    private Node select(Node root, CompactGameState state) {
+        Node node = root;
+        while (!state.isGameOver()) {
+            int moveCount = Moves.listMoves(state, moves);
+            int untriedCount = 0;
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (int m = 0; m < moveCount; m++) {
+                Node child = node.findChild(moves[m]);
+                if (child == null) {
+                    untried[untriedCount++] = moves[m];
+                    continue;
+                }
+                child.availability++;
+                double value = child.totalReward / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+
+            if (untriedCount > 0) {
+                int move = untried[random.nextInt(untriedCount)];
+                Node child = node.addChild(move, state.getCurrentPlayer());
+                Moves.apply(state, move);
+                return child;
+            }
+            Moves.apply(state, best.move);
+            node = best;
+        }
+        return node;
+    }
+
+    /**
+     * A node of the search tree, reached by a move of a player.
+     * Children are kept in a linked list, as a player never has more than a few moves.
+     */
+    private static class Node {
+        private final Node parent;
+        private final int move;
+        private final int player;
+        private Node firstChild;
+        private Node nextSibling;
+        private int visits;
+        private int availability = 1;
+        private double totalReward;
+
+        Node(Node parent, int move, int player) {
+            this.parent = parent;
+            this.move = move;
+            this.player = player;
+        }
+
+        Node findChild(int move) {
+            for (Node child = firstChild; child != null; child = child.nextSibling) {
+                if (child.move == move) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        Node addChild(int move, int player) {
+            Node child = new Node(this, move, player);
+            child.nextSibling = firstChild;
+            firstChild = child;
+            return child;
+        }
+    }
+}
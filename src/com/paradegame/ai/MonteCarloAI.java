@@ -0,0 +1,263 @@
+package com.paradegame.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.paradegame.model.*;
+import com.paradegame.util.Config;
+
+/**
+ * A variant of the HardAI that evaluates its moves by Monte Carlo playouts spread over several threads.
+ *
+ * For every move available to the player, many random continuations of the game are played to the end,
+ * each in a different determinization of the cards the player cannot see, and the move with the best
+ * average rank is chosen. The playouts are run with root parallelisation: each worker thread has its
+ * own copy of the game and statistics, and adds its totals to shared atomic arrays when it is done, so
+ * the workers never wait for each other. The playouts are split into a fixed number of chunks, each with
+ * its own random generator split off in chunk order, and the workers share out the chunks. Which playouts
+ * are run with which generator therefore depends only on the seed, so a seeded player makes the same
+ * choices whatever the number of threads and however they are scheduled.
+ *
+ * The number of playouts per move decision ({@code monteCarloPlayouts}) and of worker threads
+ * ({@code monteCarloThreads}, 0 for one per available processor) can be configured.
+ */
+public class MonteCarloAI extends HardAI {
+    /** Number of chunks the playouts of a decision are split into, the most threads that can share them. */
+    private static final int CHUNKS = 16;
+
+    private final int playouts;
+    private final int threads;
+    private final SplittableRandom random;
+    private final List<Worker> workers = new ArrayList<>();
+
+    /**
+     * Constructs a new MonteCarloAI player with the given id and name,
+     * using the number of playouts and threads from the configuration.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     */
+    public MonteCarloAI(int id, String name) {
+        this(id, name, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new MonteCarloAI player with the given id, name and random seed,
+     * using the number of playouts and threads from the configuration.
+     * Players created with the same seed make the same choices in the same games, whatever the number of threads.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public MonteCarloAI(int id, String name, long seed) {
+        this(id, name, Config.getInt("monteCarloPlayouts", 2000), Config.getInt("monteCarloThreads", 0), seed);
+    }
+
+    /**
+     * Constructs a new MonteCarloAI player with the given number of playouts and threads and random seed.
+     *
+     * @param id   the id of the player
+     * @param name the name of the AI player
+     * @param playouts the number of playouts per move decision
+     * @param threads the number of worker threads, or 0 for one per available processor
+     * @param seed the seed of the random generator used for determinizations and playouts
+     */
+    public MonteCarloAI(int id, String name, int playouts, int threads, long seed) {
+        super(id, name);
+        this.playouts = playouts;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Chooses a card to play by playing out every card in hand.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return the chosen Card to play
+     */
+    @Override
+    public Card chooseCard(GameView view) {
+        return Card.of(evaluate(view));
+    }
+
+    /**
+     * Chooses two cards to discard by playing out every pair of cards in hand.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    @Override
+    public int[] chooseDiscards(GameView view) {
+        return Moves.toDiscardIndices(view.getHand(), evaluate(view));
+    }
+
+    /**
+     * Plays out every move of the current player and returns the one with the best average reward.
+     *
+     * @param view the current state of the game as seen by the AI
+     * @return the chosen move, as encoded by {@link Moves}
+     */
+    private int evaluate(GameView view) {
+        Determinizer determinizer = createDeterminizer(view);
+        CompactGameState root = determinizer.getObservation();
+        int[] moves = new int[Card.DECK_SIZE];
+        int moveCount = Moves.listMoves(root, moves);
+        if (moveCount == 1) {
+            return moves[0];
+        }
+
+        // Rewards are counted in half points per opponent, so the shared totals stay integral
+        AtomicLongArray rewardTotals = new AtomicLongArray(moveCount);
+        AtomicLongArray visitTotals = new AtomicLongArray(moveCount);
+
+        SplittableRandom[] chunkRandoms = new SplittableRandom[CHUNKS];
+        for (int c = 0; c < CHUNKS; c++) {
+            chunkRandoms[c] = random.split();
+        }
+
+        int workerCount = Math.min(threads, CHUNKS);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            Worker worker = getWorker(w, root.getNumPlayers());
+            worker.prepare(determinizer, moves, moveCount, chunkRandoms);
+            int first = w;
+            tasks.add(ForkJoinTask.adapt(() -> worker.run(first, workerCount, rewardTotals, visitTotals)));
+        }
+        if (workerCount == 1) {
+            tasks.get(0).invoke();
+        } else {
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        int best = 0;
+        double bestReward = Double.NEGATIVE_INFINITY;
+        for (int m = 0; m < moveCount; m++) {
+            long visits = visitTotals.get(m);
+            double reward = visits == 0 ? 0 : (double) rewardTotals.get(m) / visits;
+            if (reward > bestReward) {
+                bestReward = reward;
+                best = m;
+            }
+        }
+        return moves[best];
+    }
+
+    /**
+     * Gets the worker with the given index, creating it or replacing it if it was made for a different number of players.
+     *
+     * @param index the index of the worker
+     * @param numPlayers the number of players in the game
+     * @return the worker
+     */
+    private Worker getWorker(int index, int numPlayers) {
+        if (index == workers.size()) {
+            workers.add(new Worker(numPlayers));
+        } else if (workers.get(index).state.getNumPlayers() != numPlayers) {
+            workers.set(index, new Worker(numPlayers));
+        }
+        return workers.get(index);
+    }
+
+    /**
+     * Gets the number of playouts run for each move decision.
+     *
+     * @return the number of playouts
+     */
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Gets the number of worker threads the playouts are spread over.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * The state of one worker thread: its copy of the game and its own statistics,
+     * kept between decisions so that playouts do not allocate.
+     */
+    private class Worker {
+        private final CompactGameState state;
+        private final int[] scores;
+        private final long[] rewards = new long[Card.DECK_SIZE];
+        private final long[] visits = new long[Card.DECK_SIZE];
+        private Determinizer determinizer;
+        private int[] moves;
+        private int moveCount;
+        private SplittableRandom[] chunkRandoms;
+
+        Worker(int numPlayers) {
+            this.state = new CompactGameState(numPlayers);
+            this.scores = new int[numPlayers];
+        }
+
+        /**
+         * Prepares the worker for a new decision.
+         *
+         * @param determinizer the sampler of the game before the move, as seen by the player
+         * @param moves the moves to evaluate
+         * @param moveCount the number of moves
+         * @param chunkRandoms the random generator of each chunk of playouts
+         */
+        void prepare(Determinizer determinizer, int[] moves, int moveCount, SplittableRandom[] chunkRandoms) {
+            this.determinizer = determinizer;
+            this.moves = moves;
+            this.moveCount = moveCount;
+            this.chunkRandoms = chunkRandoms;
+        }
+
+        /**
+         * Runs every chunk of playouts from a first chunk onwards, stepping over the chunks of the other workers,
+         * then adds this worker's totals to the shared ones.
+         * Playout {@code i} evaluates move {@code i % moveCount}, so the moves are shared out evenly.
+         *
+         * @param firstChunk the index of the first chunk to run
+         * @param step the number of workers sharing the chunks
+         * @param rewardTotals the shared reward total of each move
+         * @param visitTotals the shared number of playouts of each move
+         */
+        void run(int firstChunk, int step, AtomicLongArray rewardTotals, AtomicLongArray visitTotals) {
+            int self = determinizer.getObserver();
+            int numPlayers = state.getNumPlayers();
+            for (int m = 0; m < moveCount; m++) {
+                rewards[m] = 0;
+                visits[m] = 0;
+            }
+
+            for (int c = firstChunk; c < CHUNKS; c += step) {
+                SplittableRandom chunkRandom = chunkRandoms[c];
+                Playout playout = new Playout(chunkRandom);
+                int from = (int) ((long) playouts * c / CHUNKS);
+                int to = (int) ((long) playouts * (c + 1) / CHUNKS);
+                for (int i = from; i < to; i++) {
+                    int m = i % moveCount;
+                    determinizer.sample(state, chunkRandom);
+                    Moves.apply(state, moves[m]);
+                    playout.run(state);
+                    state.calculateScores(scores);
+
+                    long reward = 0;
+                    for (int p = 0; p < numPlayers; p++) {
+                        if (p != self) {
+                            reward += scores[self] < scores[p] ? 2 : scores[self] == scores[p] ? 1 : 0;
+                        }
+                    }
+                    rewards[m] += reward;
+                    visits[m]++;
+                }
+            }
+
+            for (int m = 0; m < moveCount; m++) {
+                rewardTotals.addAndGet(m, rewards[m]);
+                visitTotals.addAndGet(m, visits[m]);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.paradegame.ai;
+
+/**
+ * Ranks the candidate moves of a player by a score, as used by the EasyAI and MediumAI classes.
+ *
+ * Only the move at one rank is needed, and hands are small, so the moves are not sorted. Instead the
+ * k-th smallest score is found by a partial selection that takes the next smallest score k + 1 times,
+ * each pass only reading the scores. Neither the scores nor the hand are reordered and nothing is
+ * allocated. Equal scores are ranked by their index, so the card earlier in the hand ranks first.
+ */
+final class MoveRanking {
+    /**
+     * Prevents instantiation, as all methods are static.
+     */
+    private MoveRanking() {
+    }
+
+    /**
+     * Finds the index of the move at a rank, counting from the lowest score.
+     * If there are fewer moves than the rank, the move with the highest score is returned.
+     *
+     * @param scores the score of each move, which is not changed
+     * @param count the number of moves, at least one
+     * @param rank the rank of the move to find, 0 for the lowest score
+     * @return the index of the move at that rank
+     */
+    static int selectRank(int[] scores, int count, int rank) {
+        int lastRank = Math.min(rank, count - 1);
+        int selected = -1;
+        for (int r = 0; r <= lastRank; r++) {
+            // The next move is the smallest (score, index) after the one selected last
+            int next = -1;
+            for (int i = 0; i < count; i++) {
+                if (selected >= 0 && !isAfter(scores, i, selected)) {
+                    continue;
+                }
+                if (next < 0 || isAfter(scores, next, i)) {
+                    next = i;
+                }
+            }
+            selected = next;
+        }
+        return selected;
+    }
+
+    /**
+     * Checks whether one move ranks after another.
+     *
+     * @param scores the score of each move
+     * @param i the index of the first move
+     * @param j the index of the second move
+     * @return {@code true} if the first move has a higher score, or an equal score and a higher index
+     */
+    private static boolean isAfter(int[] scores, int i, int j) {
+        return scores[i] > scores[j] || scores[i] == scores[j] && i > j;
+    }
+}
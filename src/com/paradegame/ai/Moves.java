@@ -0,0 +1,104 @@
+package com.paradegame.ai;
+
+import java.util.List;
+import com.paradegame.model.*;
+
+/**
+ * Encodes the moves of a CompactGameState as integers, as used by the search-based AI players.
+ *
+ * A card played during the play phase is encoded as its card id. A pair of cards discarded during
+ * the discard phase is encoded from the ids of both cards, lowest first, starting at {@link #DISCARD_MOVE}.
+ * Moves are identified by cards rather than hand positions, so the same move is recognised in every
+ * determinization of a game, whatever order the hand is in.
+ */
+final class Moves {
+    /**
+     * The first integer used for discard moves.
+     */
+    static final int DISCARD_MOVE = Card.DECK_SIZE;
+
+    /**
+     * Prevents instantiation, as all methods are static.
+     */
+    private Moves() {
+    }
+
+    /**
+     * Lists the moves of the current player: the id of each card in hand during the play phase,
+     * or each pair of cards in hand during the discard phase.
+     *
+     * @param state the game state
+     * @param moves the array receiving the moves, at least {@code Card.DECK_SIZE} long
+     * @return the number of moves
+     */
+    static int listMoves(CompactGameState state, int[] moves) {
+        int player = state.getCurrentPlayer();
+        int handSize = state.getHandSize(player);
+        int count = 0;
+        if (!state.isDiscardPhase()) {
+            for (int k = 0; k < handSize; k++) {
+                moves[count++] = state.getHandCard(player, k);
+            }
+            return count;
+        }
+        for (int i = 0; i < handSize; i++) {
+            for (int j = i + 1; j < handSize; j++) {
+                moves[count++] = discardMove(state.getHandCard(player, i), state.getHandCard(player, j));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Encodes the discard of two cards.
+     *
+     * @param first the id of one discarded card
+     * @param second the id of the other discarded card
+     * @return the move
+     */
+    static int discardMove(int first, int second) {
+        return DISCARD_MOVE + Math.min(first, second) * Card.DECK_SIZE + Math.max(first, second);
+    }
+
+    /**
+     * Checks whether a move is a discard.
+     *
+     * @param move the move
+     * @return {@code true} if the move discards two cards, {@code false} if it plays one
+     */
+    static boolean isDiscard(int move) {
+        return move >= DISCARD_MOVE;
+    }
+
+    /**
+     * Applies a move of the current player to a game state.
+     *
+     * @param state the game state
+     * @param move the move, as listed by {@link #listMoves(CompactGameState, int[])}
+     */
+    static void apply(CompactGameState state, int move) {
+        int player = state.getCurrentPlayer();
+        if (!isDiscard(move)) {
+            state.play(state.findInHand(player, move));
+        } else {
+            int pair = move - DISCARD_MOVE;
+            state.discard(state.findInHand(player, pair / Card.DECK_SIZE),
+                    state.findInHand(player, pair % Card.DECK_SIZE));
+        }
+    }
+
+    /**
+     * Finds the indices of the two cards of a discard move in a hand.
+     *
+     * @param hand the list of cards in the player's hand
+     * @param move the discard move
+     * @return an array of two integers, each representing the index of a card to discard from the hand
+     */
+    static int[] toDiscardIndices(List<Card> hand, int move) {
+        int pair = move - DISCARD_MOVE;
+        return new int[] {
+                hand.indexOf(Card.of(pair / Card.DECK_SIZE)),
+                hand.indexOf(Card.of(pair % Card.DECK_SIZE))
+        };
+    }
+}
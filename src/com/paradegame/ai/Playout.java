@@ -0,0 +1,126 @@
+package com.paradegame.ai;
+
+import java.util.random.RandomGenerator;
+import com.paradegame.model.*;
+
+/**
+ * Plays a CompactGameState to the end with a fast default policy, as used by the search-based AI players.
+ *
+ * Cards are mostly played to collect the least value, with some random moves mixed in so that
+ * playouts do not all follow the same line. Discards keep the cards that score best against
+ * the piles every player has collected so far. A Playout holds its own scratch arrays and random
+ * generator, so each search thread needs its own instance.
+ */
+final class Playout {
+    private static final double GREEDY_PROBABILITY = 0.75;
+
+    private final RandomGenerator random;
+    private final int[] keptCounts = new int[Card.COLOURS];
+    private final int[] keptValues = new int[Card.COLOURS];
+
+    /**
+     * Constructs a new Playout.
+     *
+     * @param random the random generator choosing the random moves
+     */
+    Playout(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Plays the game to the end.
+     *
+     * @param state the game state to play out
+     */
+    void run(CompactGameState state) {
+        while (!state.isGameOver()) {
+            int player = state.getCurrentPlayer();
+            int handSize = state.getHandSize(player);
+            if (state.isDiscardPhase()) {
+                discard(state);
+            } else if (random.nextDouble() < GREEDY_PROBABILITY) {
+                int best = 0;
+                int minValue = Integer.MAX_VALUE;
+                for (int k = 0; k < handSize; k++) {
+                    int value = state.previewCollectedValue(state.getHandCard(player, k));
+                    if (value < minValue) {
+                        minValue = value;
+                        best = k;
+                    }
+                }
+                state.play(best);
+            } else {
+                state.play(random.nextInt(handSize));
+            }
+        }
+    }
+
+    /**
+     * Discards the pair of cards that leaves the current player with the lowest score,
+     * given the cards every player has collected so far.
+     *
+     * @param state the game state
+     */
+    private void discard(CompactGameState state) {
+        int player = state.getCurrentPlayer();
+        int handSize = state.getHandSize(player);
+        int[] counts = state.getCollectedCounts();
+        int numPlayers = state.getNumPlayers();
+        int bestFirst = 0;
+        int bestSecond = 1;
+        int minScore = Integer.MAX_VALUE;
+
+        for (int i = 0; i < handSize; i++) {
+            for (int j = i + 1; j < handSize; j++) {
+                for (int c = 0; c < Card.COLOURS; c++) {
+                    keptCounts[c] = state.getCollectedCount(player, c);
+                    keptValues[c] = state.getCollectedValue(player, c);
+                }
+                for (int k = 0; k < handSize; k++) {
+                    if (k != i && k != j) {
+                        int id = state.getHandCard(player, k);
+                        keptCounts[Card.colourOf(id)]++;
+                        keptValues[Card.colourOf(id)] += Card.valueOf(id);
+                    }
+                }
+
+                int score = 0;
+                for (int c = 0; c < Card.COLOURS; c++) {
+                    int othersMax = 0;
+                    for (int p = 0; p < numPlayers; p++) {
+                        if (p != player) {
+                            othersMax = Math.max(othersMax, counts[p * Card.COLOURS + c]);
+                        }
+                    }
+                    score += othersMax > keptCounts[c] ? keptValues[c] : keptCounts[c];
+                }
+                if (score < minScore) {
+                    minScore = score;
+                    bestFirst = i;
+                    bestSecond = j;
+                }
+            }
+        }
+        state.discard(bestFirst, bestSecond);
+    }
+
+    /**
+     * Calculates the reward of every player from the final scores: the fraction of opponents
+     * they beat, with ties counting as half, so the winner of a game without ties gets 1.
+     *
+     * @param numPlayers the number of players in the game
+     * @param scores the final score of each player
+     * @param rewards the array receiving the reward of each player
+     */
+    static void calculateRewards(int numPlayers, int[] scores, double[] rewards) {
+        for (int p = 0; p < numPlayers; p++) {
+            double beaten = 0;
+            for (int q = 0; q < numPlayers; q++) {
+                if (q != p) {
+                    beaten += scores[p] < scores[q] ? 1 : scores[p] == scores[q] ? 0.5 : 0;
+                }
+            }
+            rewards[p] = beaten / (numPlayers - 1);
+        }
+    }
+}
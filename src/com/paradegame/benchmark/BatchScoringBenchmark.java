@@ -0,0 +1,120 @@
+package com.paradegame.benchmark;
+
+import java.util.*;
+import com.paradegame.model.*;
+
+/**
+ * Compares scoring a batch of finished games one game at a time with the {@link ScoreCalculator}
+ * against scoring the whole batch at once with the {@link BatchScoreCalculator}.
+ *
+ * The endings are seeded random colour totals: each card of the deck is collected by a random player
+ * or stays out of every collection, so colours are often tied or led by one card as in real games.
+ * Both sides score the same endings and only the scoring is measured, as the batch is filled once.
+ *
+ * Usage: {@code BatchScoringBenchmark [players=2,3,6] [games=256,4096]}
+ */
+public class BatchScoringBenchmark {
+    private final int numPlayers;
+    private final int games;
+    private final int[] counts;
+    private final int[] values;
+    private final int[] gameCounts;
+    private final int[] gameValues;
+    private final int[] scores;
+    private final BatchScoreCalculator batch;
+
+    /**
+     * Constructs a new BatchScoringBenchmark, preparing seeded endings.
+     *
+     * @param numPlayers the number of players in each game
+     * @param games the number of games scored per operation
+     */
+    public BatchScoringBenchmark(int numPlayers, int games) {
+        this.numPlayers = numPlayers;
+        this.games = games;
+        this.counts = new int[games * numPlayers * Card.COLOURS];
+        this.values = new int[games * numPlayers * Card.COLOURS];
+        this.gameCounts = new int[numPlayers * Card.COLOURS];
+        this.gameValues = new int[numPlayers * Card.COLOURS];
+        this.scores = new int[numPlayers];
+        this.batch = new BatchScoreCalculator(numPlayers, games);
+
+        SplittableRandom random = new SplittableRandom(numPlayers);
+        for (int g = 0; g < games; g++) {
+            int offset = g * numPlayers * Card.COLOURS;
+            for (int id = 0; id < Card.DECK_SIZE; id++) {
+                int player = random.nextInt(numPlayers + 1);
+                if (player < numPlayers) {
+                    counts[offset + player * Card.COLOURS + Card.colourOf(id)]++;
+                    values[offset + player * Card.COLOURS + Card.colourOf(id)] += Card.valueOf(id);
+                }
+            }
+            batch.add(counts, values, offset);
+        }
+    }
+
+    /**
+     * Scores every game one after another with the ScoreCalculator.
+     *
+     * @return the sum of the first player's scores
+     */
+    public long perGame() {
+        long total = 0;
+        for (int g = 0; g < games; g++) {
+            System.arraycopy(counts, g * gameCounts.length, gameCounts, 0, gameCounts.length);
+            System.arraycopy(values, g * gameValues.length, gameValues, 0, gameValues.length);
+            ScoreCalculator.calculateScores(gameCounts, gameValues, numPlayers, scores);
+            total += scores[0];
+        }
+        return total;
+    }
+
+    /**
+     * Scores every game at once with the BatchScoreCalculator.
+     *
+     * @return the sum of the first player's scores
+     */
+    public long batched() {
+        batch.calculateScores();
+        long total = 0;
+        for (int g = 0; g < games; g++) {
+            total += batch.getScore(g, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Runs the comparison for each player count and batch size and prints the games scored per second.
+     *
+     * @param args optional {@code players=} and {@code games=} lists
+     */
+    public static void main(String[] args) {
+        int[] playerCounts = {2, 3, 6};
+        int[] batchSizes = {256, 4096};
+        for (String arg : args) {
+            if (arg.startsWith("players=")) {
+                playerCounts = Arrays.stream(arg.substring("players=".length()).split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("games=")) {
+                batchSizes = Arrays.stream(arg.substring("games=".length()).split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+            }
+        }
+
+        Microbenchmark harness = new Microbenchmark(1000, 1000, 5);
+        for (int numPlayers : playerCounts) {
+            for (int games : batchSizes) {
+                BatchScoringBenchmark benchmark = new BatchScoringBenchmark(numPlayers, games);
+                if (benchmark.perGame() != benchmark.batched()) {
+                    throw new IllegalStateException("Batch scores differ from ScoreCalculator");
+                }
+                String suffix = " (players=" + numPlayers + ", games=" + games + ")";
+                Microbenchmark.Result perGame = harness.measure("ScoreCalculator per game" + suffix,
+                        benchmark::perGame);
+                Microbenchmark.Result batched = harness.measure("BatchScoreCalculator" + suffix, benchmark::batched);
+                System.out.printf("    %.0f vs %.0f games/s, %.2fx%n", perGame.getOpsPerSecond() * games,
+                        batched.getOpsPerSecond() * games, batched.getOpsPerSecond() / perGame.getOpsPerSecond());
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.paradegame.benchmark;
+
+import java.util.*;
+import com.paradegame.model.*;
+import com.paradegame.simulation.BatchSimulator;
+
+/**
+ * Compares the games per second of the lockstep {@link BatchSimulator} with playing the same games one
+ * after another on a CompactGameState, on a single thread.
+ *
+ * Both play the same seeded games with the same policy: play the card that collects the least total value
+ * and discard the two cards of highest value. The batch reuses its arrays for every batch of games,
+ * while each sequential game creates its own CompactGameState.
+ *
+ * Usage: {@code BatchSimulatorBenchmark [players=2,3,6] [games=256,4096]}
+ */
+public class BatchSimulatorBenchmark {
+    private final int numPlayers;
+    private final int games;
+    private final BatchSimulator simulator;
+    private final int[] scores;
+    private long seed;
+
+    /**
+     * Constructs a new BatchSimulatorBenchmark for batches of the given size.
+     *
+     * @param numPlayers the number of players in each game
+     * @param games the number of games played per operation
+     */
+    public BatchSimulatorBenchmark(int numPlayers, int games) {
+        this.numPlayers = numPlayers;
+        this.games = games;
+        this.simulator = new BatchSimulator(games, numPlayers);
+        this.scores = new int[numPlayers];
+    }
+
+    /**
+     * Deals and plays the next batch of games in lockstep.
+     *
+     * @return the sum of the winners' seats
+     */
+    public long batch() {
+        simulator.deal(seed);
+        seed += games;
+        simulator.playToEnd();
+        long total = 0;
+        for (int g = 0; g < games; g++) {
+            simulator.calculateScores(g, scores);
+            total += simulator.getWinner(g, scores);
+        }
+        return total;
+    }
+
+    /**
+     * Plays the next batch of games one after another, each on its own CompactGameState.
+     *
+     * @return the sum of the winners' seats
+     */
+    public long sequential() {
+        long total = 0;
+        for (int g = 0; g < games; g++) {
+            CompactGameState state = new CompactGameState(numPlayers, new SplittableRandom(seed + g));
+            while (!state.isGameOver()) {
+                if (state.isDiscardPhase()) {
+                    discardHighest(state);
+                } else {
+                    state.play(chooseLeastValue(state));
+                }
+            }
+            state.calculateScores(scores);
+            total += state.getWinner(scores);
+        }
+        seed += games;
+        return total;
+    }
+
+    /**
+     * Chooses the card of the current player's hand that collects the least total value.
+     *
+     * @param state the game state
+     * @return the index of the chosen card in the hand
+     */
+    private static int chooseLeastValue(CompactGameState state) {
+        int player = state.getCurrentPlayer();
+        int best = 0;
+        int minValue = Integer.MAX_VALUE;
+        for (int k = 0; k < state.getHandSize(player); k++) {
+            int value = state.previewCollectedValue(state.getHandCard(player, k));
+            if (value < minValue) {
+                minValue = value;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Discards the two cards of highest value from the current player's hand, the first ones on ties.
+     *
+     * @param state the game state
+     */
+    private static void discardHighest(CompactGameState state) {
+        int player = state.getCurrentPlayer();
+        int first = 0;
+        int second = 1;
+        if (Card.valueOf(state.getHandCard(player, 1)) > Card.valueOf(state.getHandCard(player, 0))) {
+            first = 1;
+            second = 0;
+        }
+        for (int k = 2; k < state.getHandSize(player); k++) {
+            int value = Card.valueOf(state.getHandCard(player, k));
+            if (value > Card.valueOf(state.getHandCard(player, first))) {
+                second = first;
+                first = k;
+            } else if (value > Card.valueOf(state.getHandCard(player, second))) {
+                second = k;
+            }
+        }
+        state.discard(first, second);
+    }
+
+    /**
+     * Runs the comparison for each player count and batch size and prints the games per second.
+     *
+     * @param args optional {@code players=} and {@code games=} lists
+     */
+    public static void main(String[] args) {
+        int[] playerCounts = {2, 3, 6};
+        int[] batchSizes = {256, 4096};
+        for (String arg : args) {
+            if (arg.startsWith("players=")) {
+                playerCounts = Arrays.stream(arg.substring("players=".length()).split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("games=")) {
+                batchSizes = Arrays.stream(arg.substring("games=".length()).split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+            }
+        }
+
+        Microbenchmark harness = new Microbenchmark(2000, 1000, 5);
+        for (int numPlayers : playerCounts) {
+            for (int games : batchSizes) {
+                BatchSimulatorBenchmark benchmark = new BatchSimulatorBenchmark(numPlayers, games);
+                String suffix = " (players=" + numPlayers + ", games=" + games + ")";
+                Microbenchmark.Result sequential = harness.measure("CompactGameState sequential" + suffix,
+                        benchmark::sequential);
+                Microbenchmark.Result batch = harness.measure("BatchSimulator lockstep" + suffix, benchmark::batch);
+                System.out.printf("    %.0f vs %.0f games/s, %.2fx%n", sequential.getOpsPerSecond() * games,
+                        batch.getOpsPerSecond() * games, batch.getOpsPerSecond() / sequential.getOpsPerSecond());
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.paradegame.benchmark;
+
+import java.util.*;
+import com.paradegame.ai.*;
+import com.paradegame.controller.GameEngine;
+import com.paradegame.model.*;
+import com.paradegame.util.Config;
+
+/**
+ * Runs the benchmarks of the rule engine and the AI decision paths for a range of player counts.
+ *
+ * The positions used by each benchmark are taken from seeded games between HardAI players,
+ * so every run measures the same positions. The deck configuration is read through Config,
+ * so it can be varied per run with system properties such as {@code -DcardsPerColor=9}.
+ *
+ * Usage: {@code BenchmarkSuite [players=2,3,6] [filter]}, where only benchmarks whose name
+ * contains the filter are run.
+ */
+public class BenchmarkSuite {
+    private static final int POSITIONS = 256;
+    private static final int TURNS_BEFORE_MID_GAME = 4;
+
+    private final int numPlayers;
+    private final byte[] paradeSequence = new byte[4096];
+    private final List<GameEngine> discardPositions = new ArrayList<>();
+    private final List<GameState> midGamePositions = new ArrayList<>();
+    private final List<Determinizer> determinizers = new ArrayList<>();
+    private final List<GameState> finishedGames = new ArrayList<>();
+    private final int[][] finishedCounts = new int[POSITIONS][];
+    private final int[][] finishedValues = new int[POSITIONS][];
+    private Parade parade = new Parade();
+    private final byte[] removed = new byte[Card.DECK_SIZE];
+    private final int[] scores;
+    private final CompactGameState world;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Deck eagerDeck = new Deck(new SplittableRandom(0), false);
+    private final Deck lazyDeck = new Deck(new SplittableRandom(0), true);
+    private final int initialDeal;
+    private final DiscardEvaluator discardEvaluator = new DiscardEvaluator(2);
+    private final EasyAI easyAI = new EasyAI(0, "Easy");
+    private final MediumAI mediumAI = new MediumAI(0, "Medium");
+    private int next;
+    private long gameSeed;
+
+    /**
+     * Constructs a new BenchmarkSuite, preparing seeded positions for the given number of players.
+     *
+     * @param numPlayers the number of players in each game
+     */
+    public BenchmarkSuite(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.scores = new int[numPlayers];
+        this.world = new CompactGameState(numPlayers);
+        this.initialDeal = Config.getInt("initialParadeSize", 6) + numPlayers * Config.getInt("initialHandSize", 5);
+
+        // A long seeded sequence of played cards keeps the parade at a realistic length
+        SplittableRandom random = new SplittableRandom(numPlayers);
+        for (int i = 0; i < paradeSequence.length; i++) {
+            paradeSequence[i] = (byte) random.nextInt(Card.DECK_SIZE);
+        }
+
+        for (int i = 0; i < POSITIONS; i++) {
+            GameEngine engine = new GameEngine(createPlayers(), i);
+            for (int turn = 0; turn < TURNS_BEFORE_MID_GAME * numPlayers; turn++) {
+                engine.step();
+            }
+            midGamePositions.add(engine.getGameState());
+            determinizers.add(new Determinizer(engine.getGameState()));
+            while (!engine.isPlayPhaseOver()) {
+                engine.step();
+            }
+            discardPositions.add(engine);
+
+            GameEngine finished = new GameEngine(createPlayers(), i);
+            finished.playToEnd();
+            finishedGames.add(finished.getGameState());
+            finishedCounts[i] = new int[numPlayers * Card.COLOURS];
+            finishedValues[i] = new int[numPlayers * Card.COLOURS];
+            for (int p = 0; p < numPlayers; p++) {
+                Player player = finished.getGameState().getPlayers().get(p);
+                for (int c = 0; c < Card.COLOURS; c++) {
+                    finishedCounts[i][p * Card.COLOURS + c] = player.getCollectedCount(c);
+                    finishedValues[i][p * Card.COLOURS + c] = player.getCollectedValue(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the HardAI players of a game.
+     *
+     * @return the list of players
+     */
+    private List<Player> createPlayers() {
+        List<Player> players = new ArrayList<>();
+        for (int p = 1; p <= numPlayers; p++) {
+            players.add(new HardAI(p, "Bot " + p));
+        }
+        return players;
+    }
+
+    /**
+     * Plays the next card of the sequence with the allocation-free handleCardPlayed.
+     *
+     * @return the number of removed cards
+     */
+    public long handleCardPlayed() {
+        Card card = nextParadeCard();
+        parade.addCard(card);
+        return parade.handleCardPlayed(card, removed);
+    }
+
+    /**
+     * Plays the next card of the sequence with the list-returning handleCardPlayed.
+     *
+     * @return the number of removed cards
+     */
+    public long handleCardPlayedList() {
+        Card card = nextParadeCard();
+        parade.addCard(card);
+        return parade.handleCardPlayed(card).size();
+    }
+
+    /**
+     * Simulates playing the next card of the sequence without changing the parade.
+     *
+     * @return the number of cards that would be collected
+     */
+    public long simulateCollectedCards() {
+        Card card = nextParadeCard();
+        return parade.simulateCollectedCards(card).size();
+    }
+
+    /**
+     * Gets the next card of the played-card sequence, emptying the parade if it ever fills up.
+     *
+     * @return the next card to play
+     */
+    private Card nextParadeCard() {
+        if (parade.size() >= Card.DECK_SIZE - 1) {
+            parade = new Parade();
+        }
+        return Card.of(paradeSequence[next++ & (paradeSequence.length - 1)] & 0xFF);
+    }
+
+    /**
+     * Resets the eagerly shuffled deck with the next seed and draws the cards of the initial deal.
+     *
+     * @return the id of the last card dealt
+     */
+    public long dealEager() {
+        return deal(eagerDeck);
+    }
+
+    /**
+     * Resets the lazily shuffled deck with the next seed and draws the cards of the initial deal.
+     *
+     * @return the id of the last card dealt
+     */
+    public long dealLazy() {
+        return deal(lazyDeck);
+    }
+
+    /**
+     * Resets a deck with the next seed and draws the cards of the initial deal.
+     *
+     * @param deck the deck to deal from
+     * @return the id of the last card dealt
+     */
+    private long deal(Deck deck) {
+        deck.reset(new SplittableRandom(gameSeed++));
+        int id = 0;
+        for (int i = 0; i < initialDeal; i++) {
+            id = deck.draw().getId();
+        }
+        return id;
+    }
+
+    /**
+     * Scores the next finished game with GameState.calculateScores.
+     *
+     * @return the score of the first player
+     */
+    public long calculateScores() {
+        GameState state = finishedGames.get(next++ & (POSITIONS - 1));
+        return state.calculateScores().getScore(state.getPlayers().get(0));
+    }
+
+    /**
+     * Scores the next finished game with ScoreCalculator on compact colour totals.
+     *
+     * @return the score of the first player
+     */
+    public long scoreCalculator() {
+        int position = next++ & (POSITIONS - 1);
+        ScoreCalculator.calculateScores(finishedCounts[position], finishedValues[position], numPlayers, scores);
+        return scores[0];
+    }
+
+    /**
+     * Chooses a card for the current player of the next mid-game position with EasyAI.
+     *
+     * @return the id of the chosen card
+     */
+    public long easyAIChooseCard() {
+        GameState state = midGamePositions.get(next++ & (POSITIONS - 1));
+        return easyAI.chooseCard(state.getView(state.getCurrentPlayerIndex())).getId();
+    }
+
+    /**
+     * Chooses a card for the current player of the next mid-game position with MediumAI.
+     *
+     * @return the id of the chosen card
+     */
+    public long mediumAIChooseCard() {
+        GameState state = midGamePositions.get(next++ & (POSITIONS - 1));
+        return mediumAI.chooseCard(state.getView(state.getCurrentPlayerIndex())).getId();
+    }
+
+    /**
+     * Chooses the discards of the current player of the next discard-phase position with the DiscardEvaluator
+     * crediting each opponent with two extra cards per colour.
+     *
+     * @return the index of the first discarded card
+     */
+    public long discardEvaluatorChooseDiscards() {
+        GameState state = discardPositions.get(next++ & (POSITIONS - 1)).getGameState();
+        return discardEvaluator.chooseDiscards(state.getView(state.getCurrentPlayerIndex()))[0];
+    }
+
+    /**
+     * Chooses the discards of the current player of the next discard-phase position with HardAI,
+     * which uses the DiscardSolver.
+     *
+     * @return the index of the first discarded card
+     */
+    public long hardAIChooseDiscardsSolver() {
+        GameState state = discardPositions.get(next++ & (POSITIONS - 1)).getGameState();
+        int index = state.getCurrentPlayerIndex();
+        return ((AIPlayer) state.getCurrentPlayer()).chooseDiscards(state.getView(index))[0];
+    }
+
+    /**
+     * Copies the next mid-game position as seen by its current player, working out the unseen cards
+     * by scanning the collected piles.
+     *
+     * @return the hash of the copy
+     */
+    public long observeByScanning() {
+        GameState state = midGamePositions.get(next++ & (POSITIONS - 1));
+        return CompactGameState.fromObservation(state, state.getCurrentPlayerIndex()).getHash();
+    }
+
+    /**
+     * Copies the next mid-game position as seen by its current player, taking the unseen cards
+     * from the card tracker the player has kept during the game.
+     *
+     * @return the hash of the copy
+     */
+    public long observeWithTracker() {
+        GameState state = midGamePositions.get(next++ & (POSITIONS - 1));
+        AIPlayer player = (AIPlayer) state.getCurrentPlayer();
+        return CompactGameState.fromObservation(state.getView(state.getCurrentPlayerIndex()), player.getCardTracker()).getHash();
+    }
+
+    /**
+     * Samples a determinization of the next mid-game position as seen by its current player.
+     *
+     * @return the hash of the sampled world
+     */
+    public long determinize() {
+        determinizers.get(next++ & (POSITIONS - 1)).sample(world, random);
+        return world.getHash();
+    }
+
+    /**
+     * Plays a complete headless game between HardAI players.
+     *
+     * @return the score of the first player
+     */
+    public long fullGame() {
+        GameEngine engine = new GameEngine(createPlayers(), gameSeed++);
+        ScoreResult result = engine.playToEnd();
+        return result.getScore(engine.getGameState().getPlayers().get(0));
+    }
+
+    /**
+     * Runs every benchmark whose name contains the filter.
+     *
+     * @param harness the harness to measure with
+     * @param filter the text a benchmark name must contain, or an empty string to run all
+     */
+    public void run(Microbenchmark harness, String filter) {
+        String suffix = " (players=" + numPlayers + ", cardsPerColor=" + Card.CARDS_PER_COLOUR + ")";
+        Map<String, Microbenchmark.Operation> benchmarks = new LinkedHashMap<>();
+        benchmarks.put("Parade.handleCardPlayed(buffer)", this::handleCardPlayed);
+        benchmarks.put("Parade.handleCardPlayed(list)", this::handleCardPlayedList);
+        benchmarks.put("Parade.simulateCollectedCards", this::simulateCollectedCards);
+        benchmarks.put("Deck.reset and deal (eager)", this::dealEager);
+        benchmarks.put("Deck.reset and deal (lazy)", this::dealLazy);
+        benchmarks.put("GameState.calculateScores", this::calculateScores);
+        benchmarks.put("ScoreCalculator.calculateScores", this::scoreCalculator);
+        benchmarks.put("EasyAI.chooseCard", this::easyAIChooseCard);
+        benchmarks.put("MediumAI.chooseCard", this::mediumAIChooseCard);
+        benchmarks.put("DiscardEvaluator.chooseDiscards", this::discardEvaluatorChooseDiscards);
+        benchmarks.put("HardAI.chooseDiscards (DiscardSolver)", this::hardAIChooseDiscardsSolver);
+        benchmarks.put("fromObservation (scan)", this::observeByScanning);
+        benchmarks.put("fromObservation (CardTracker)", this::observeWithTracker);
+        benchmarks.put("Determinizer.sample", this::determinize);
+        benchmarks.put("GameEngine.playToEnd (HardAI)", this::fullGame);
+
+        for (Map.Entry<String, Microbenchmark.Operation> benchmark : benchmarks.entrySet()) {
+            if (benchmark.getKey().contains(filter)) {
+                harness.measure(benchmark.getKey() + suffix, benchmark.getValue());
+            }
+        }
+    }
+
+    /**
+     * Runs the suite for each requested player count.
+     *
+     * @param args an optional {@code players=} list of player counts, and an optional benchmark name filter
+     */
+    public static void main(String[] args) {
+        int[] playerCounts = {2, 3, 6};
+        String filter = "";
+        for (String arg : args) {
+            if (arg.startsWith("players=")) {
+                playerCounts = Arrays.stream(arg.substring("players=".length()).split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+            } else {
+                filter = arg;
+            }
+        }
+
+        Microbenchmark harness = new Microbenchmark();
+        for (int numPlayers : playerCounts) {
+            new BenchmarkSuite(numPlayers).run(harness, filter);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.paradegame.benchmark;
+
+/**
+ * A small benchmark harness used by the benchmarks in this package.
+ * Each operation is first run for a warm-up period so that the JIT compiler can optimise it,
+ * and then timed over several measurement rounds. The result of every call is folded into a
+ * sink so that the measured work cannot be optimised away.
+ */
+public class Microbenchmark {
+    private static volatile long sink;
+
+    private final long warmupNanos;
+    private final long roundNanos;
+    private final int rounds;
+
+    /**
+     * A benchmarked operation. It returns a value derived from its work so the work is not eliminated.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @return any value depending on the result of the operation
+         */
+        long run();
+    }
+
+    /**
+     * Constructs a new Microbenchmark with the default timing of a one second warm-up
+     * followed by five measurement rounds of half a second.
+     */
+    public Microbenchmark() {
+        this(1000, 500, 5);
+    }
+
+    /**
+     * Constructs a new Microbenchmark with the given timing.
+     *
+     * @param warmupMillis the warm-up time in milliseconds
+     * @param roundMillis the length of each measurement round in milliseconds
+     * @param rounds the number of measurement rounds
+     */
+    public Microbenchmark(long warmupMillis, long roundMillis, int rounds) {
+        this.warmupNanos = warmupMillis * 1_000_000;
+        this.roundNanos = roundMillis * 1_000_000;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Measures the average time taken by an operation and prints the result.
+     *
+     * @param name the name of the benchmark
+     * @param operation the operation to measure
+     * @return the measured result
+     */
+    public Result measure(String name, Operation operation) {
+        runFor(operation, warmupNanos);
+
+        double[] nanosPerOp = new double[rounds];
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            long ops = runFor(operation, roundNanos);
+            nanosPerOp[round] = (double) (System.nanoTime() - start) / ops;
+        }
+
+        Result result = new Result(name, nanosPerOp);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Runs an operation in growing batches until at least the given time has passed.
+     *
+     * @param operation the operation to run
+     * @param nanos the minimum time to run for
+     * @return the number of times the operation was run
+     */
+    private static long runFor(Operation operation, long nanos) {
+        long start = System.nanoTime();
+        long ops = 0;
+        long batch = 1;
+        long acc = 0;
+        while (System.nanoTime() - start < nanos) {
+            for (long i = 0; i < batch; i++) {
+                acc += operation.run();
+            }
+            ops += batch;
+            if (batch < 1024) {
+                batch *= 2;
+            }
+        }
+        sink += acc;
+        return ops;
+    }
+
+    /**
+     * Holds the timing of a benchmark over all measurement rounds.
+     */
+    public static class Result {
+        private final String name;
+        private final double mean;
+        private final double error;
+
+        /**
+         * Constructs a new Result from the time per operation measured in each round.
+         *
+         * @param name the name of the benchmark
+         * @param nanosPerOp the nanoseconds per operation of each round
+         */
+        Result(String name, double[] nanosPerOp) {
+            double sum = 0;
+            for (double n : nanosPerOp) {
+                sum += n;
+            }
+            double mean = sum / nanosPerOp.length;
+            double squares = 0;
+            for (double n : nanosPerOp) {
+                squares += (n - mean) * (n - mean);
+            }
+            this.name = name;
+            this.mean = mean;
+            this.error = nanosPerOp.length > 1 ? Math.sqrt(squares / (nanosPerOp.length - 1)) : 0;
+        }
+
+        /**
+         * Gets the mean time per operation.
+         *
+         * @return the mean time in nanoseconds
+         */
+        public double getNanosPerOp() {
+            return mean;
+        }
+
+        /**
+         * Gets the number of operations per second corresponding to the mean time.
+         *
+         * @return the throughput in operations per second
+         */
+        public double getOpsPerSecond() {
+            return 1_000_000_000.0 / mean;
+        }
+
+        /**
+         * Returns the name, time per operation and throughput of the benchmark.
+         *
+         * @return a formatted line describing the result
+         */
+        @Override
+        public String toString() {
+            return String.format("%-64s %12.1f +- %7.1f ns/op %14.0f ops/s", name, mean, error, getOpsPerSecond());
+        }
+    }
+}
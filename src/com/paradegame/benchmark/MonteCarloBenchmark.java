@@ -0,0 +1,101 @@
+package com.paradegame.benchmark;
+
+import java.util.*;
+import com.paradegame.ai.*;
+import com.paradegame.controller.GameEngine;
+import com.paradegame.model.*;
+
+/**
+ * Measures how the playout throughput of the MonteCarloAI scales with the number of worker threads.
+ *
+ * Each benchmark chooses a card for the current player of a set of seeded mid-game positions,
+ * taken from games between HardAI players, with a fixed number of playouts per decision.
+ * The thread counts run from 1 up to the number of available processors, doubling each time.
+ *
+ * Usage: {@code MonteCarloBenchmark [players=3] [playouts=2000] [threads=1,2,4]}
+ */
+public class MonteCarloBenchmark {
+    private static final int POSITIONS = 32;
+    private static final int TURNS_BEFORE_POSITION = 4;
+
+    private final List<GameState> positions = new ArrayList<>();
+    private int next;
+
+    /**
+     * Constructs a new MonteCarloBenchmark, preparing seeded positions for the given number of players.
+     *
+     * @param numPlayers the number of players in each game
+     */
+    public MonteCarloBenchmark(int numPlayers) {
+        for (int i = 0; i < POSITIONS; i++) {
+            List<Player> players = new ArrayList<>();
+            for (int p = 1; p <= numPlayers; p++) {
+                players.add(new HardAI(p, "Bot " + p));
+            }
+            GameEngine engine = new GameEngine(players, i);
+            for (int turn = 0; turn < TURNS_BEFORE_POSITION * numPlayers; turn++) {
+                engine.step();
+            }
+            positions.add(engine.getGameState());
+        }
+    }
+
+    /**
+     * Chooses a card for the current player of the next position.
+     *
+     * The search only reads the game state, so one AI can decide for the current player of every position.
+     *
+     * @param ai the AI making the decision
+     * @return the id of the chosen card
+     */
+    private long chooseCard(MonteCarloAI ai) {
+        GameState state = positions.get(next++ % POSITIONS);
+        return ai.chooseCard(state.getView(state.getCurrentPlayerIndex())).getId();
+    }
+
+    /**
+     * Runs the benchmark for each thread count and prints the playouts per second.
+     *
+     * @param args optional {@code players=}, {@code playouts=} and {@code threads=} settings
+     */
+    public static void main(String[] args) {
+        int numPlayers = 3;
+        int playouts = 2000;
+        int[] threadCounts = null;
+        for (String arg : args) {
+            if (arg.startsWith("players=")) {
+                numPlayers = Integer.parseInt(arg.substring("players=".length()));
+            } else if (arg.startsWith("playouts=")) {
+                playouts = Integer.parseInt(arg.substring("playouts=".length()));
+            } else if (arg.startsWith("threads=")) {
+                threadCounts = Arrays.stream(arg.substring("threads=".length()).split(","))
+                        .mapToInt(Integer::parseInt).toArray();
+            }
+        }
+        if (threadCounts == null) {
+            List<Integer> counts = new ArrayList<>();
+            int processors = Runtime.getRuntime().availableProcessors();
+            for (int t = 1; t < processors; t *= 2) {
+                counts.add(t);
+            }
+            counts.add(processors);
+            threadCounts = counts.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        MonteCarloBenchmark benchmark = new MonteCarloBenchmark(numPlayers);
+        Microbenchmark harness = new Microbenchmark(2000, 1000, 5);
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            MonteCarloAI ai = new MonteCarloAI(0, "Bench", playouts, threads, 42);
+            Microbenchmark.Result result = harness.measure(
+                    "MonteCarloAI.chooseCard (players=" + numPlayers + ", threads=" + threads + ")",
+                    () -> benchmark.chooseCard(ai));
+            double playoutsPerSecond = result.getOpsPerSecond() * playouts;
+            if (baseline == 0) {
+                baseline = playoutsPerSecond;
+            }
+            System.out.printf("    %.0f playouts/s, %.2fx the first thread count%n",
+                    playoutsPerSecond, playoutsPerSecond / baseline);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.paradegame.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import com.paradegame.model.*;
+
+/**
+ * Compares the cost of evaluating every card in a hand against the parade
+ * with {@link Parade#simulateCollectedCards(Card)}, which builds a list of the collected cards,
+ * with the read-only preview methods, which scan the parade once per card, and with
+ * {@link Parade#previewAll(List, ParadePreview)}, which scans it once for the whole hand.
+ *
+ * Each benchmark cycles through a set of seeded parades and hands of the same length,
+ * so that the results do not depend on a single lucky arrangement of cards.
+ */
+public class ParadeBenchmark {
+    private static final int POSITIONS = 256;
+    private static final int HAND_SIZE = 5;
+
+    private final Parade[] parades = new Parade[POSITIONS];
+    private final Card[][] hands = new Card[POSITIONS][HAND_SIZE];
+    private final List<List<Card>> handLists = new ArrayList<>();
+    private final ParadePreview preview = new ParadePreview();
+    private int next;
+
+    /**
+     * Constructs a new ParadeBenchmark with seeded parades of the given length.
+     *
+     * @param paradeSize the number of cards in each parade
+     */
+    public ParadeBenchmark(int paradeSize) {
+        Deck deck = new Deck(new SplittableRandom(0), true);
+        for (int i = 0; i < POSITIONS; i++) {
+            deck.reset(new SplittableRandom(i));
+            parades[i] = new Parade();
+            for (int j = 0; j < paradeSize; j++) {
+                parades[i].addCard(deck.draw());
+            }
+            for (int j = 0; j < HAND_SIZE; j++) {
+                hands[i][j] = deck.draw();
+            }
+            handLists.add(List.of(hands[i]));
+        }
+    }
+
+    /**
+     * Evaluates the total collected value of each card in the next hand by building the collected lists.
+     *
+     * @return the sum of the collected values
+     */
+    public long simulateCollectedCards() {
+        int position = next++ & (POSITIONS - 1);
+        long total = 0;
+        for (Card card : hands[position]) {
+            List<Card> collected = parades[position].simulateCollectedCards(card);
+            for (Card c : collected) {
+                total += c.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Evaluates the total collected value of each card in the next hand with the value preview.
+     *
+     * @return the sum of the collected values
+     */
+    public long previewCollectedValue() {
+        int position = next++ & (POSITIONS - 1);
+        long total = 0;
+        for (Card card : hands[position]) {
+            total += parades[position].previewCollectedValue(card);
+        }
+        return total;
+    }
+
+    /**
+     * Evaluates which cards each card in the next hand would collect with the bitmask preview.
+     *
+     * @return a combination of the collected masks
+     */
+    public long previewCollectedMask() {
+        int position = next++ & (POSITIONS - 1);
+        long total = 0;
+        for (Card card : hands[position]) {
+            total += parades[position].previewCollectedMask(card);
+        }
+        return total;
+    }
+
+    /**
+     * Evaluates the collected count, value, colour totals and mask of each card in the next hand
+     * with a single batched preview.
+     *
+     * @return the sum of the collected values
+     */
+    public long previewAll() {
+        int position = next++ & (POSITIONS - 1);
+        parades[position].previewAll(handLists.get(position), preview);
+        long total = 0;
+        for (int k = 0; k < HAND_SIZE; k++) {
+            total += preview.getValue(k);
+        }
+        return total;
+    }
+
+    /**
+     * Runs the comparison for short, typical and long parades.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Microbenchmark harness = new Microbenchmark();
+        for (int paradeSize : new int[] {6, 12, 24}) {
+            ParadeBenchmark benchmark = new ParadeBenchmark(paradeSize);
+            String suffix = " (parade=" + paradeSize + ", hand=" + HAND_SIZE + ")";
+            harness.measure("simulateCollectedCards" + suffix, benchmark::simulateCollectedCards);
+            harness.measure("previewCollectedValue" + suffix, benchmark::previewCollectedValue);
+            harness.measure("previewCollectedMask" + suffix, benchmark::previewCollectedMask);
+            harness.measure("previewAll" + suffix, benchmark::previewAll);
+        }
+    }
+}
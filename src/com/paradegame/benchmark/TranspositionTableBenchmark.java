@@ -0,0 +1,159 @@
+package com.paradegame.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import com.paradegame.search.*;
+
+/**
+ * Compares position caches holding the same number of entries: an on-heap HashMap from hash to packed entry,
+ * the on-heap {@link TranspositionTable} and the {@link OffHeapTranspositionTable}.
+ *
+ * For each cache, the benchmark first fills it with random positions, recording the garbage collections
+ * this causes, and then measures the time of a probe followed by a store of a random position, again
+ * recording the garbage collections that happen during the measurement. A HashMap holds every entry as
+ * several objects that the collector must trace, while the tables hold them in flat arrays or off the heap.
+ *
+ * Usage: {@code TranspositionTableBenchmark [entries=4194304]}
+ */
+public class TranspositionTableBenchmark {
+    private static final int KEYS = 1 << 16;
+
+    private final long[] keys = new long[KEYS];
+    private int next;
+
+    /**
+     * Constructs a new TranspositionTableBenchmark with a seeded pool of positions to look up.
+     */
+    public TranspositionTableBenchmark() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * A cache under test, reduced to the operations being measured.
+     */
+    private interface Cache {
+        long probe(long hash);
+
+        void store(long hash, int value);
+    }
+
+    /**
+     * Probes the next position of the pool and stores it if it was missing.
+     *
+     * @param cache the cache to use
+     * @return the probed entry
+     */
+    private long probeAndStore(Cache cache) {
+        long hash = keys[next++ & (KEYS - 1)];
+        long entry = cache.probe(hash);
+        if (entry == TranspositionTable.MISS) {
+            cache.store(hash, (int) hash);
+        }
+        return entry;
+    }
+
+    /**
+     * Fills a cache and measures it, printing the garbage collections of each stage.
+     *
+     * @param harness the harness to measure with
+     * @param name the name of the cache
+     * @param cache the cache to measure
+     * @param entries the number of entries to fill it with
+     */
+    private void run(Microbenchmark harness, String name, Cache cache, int entries) {
+        long[] gcBefore = garbageCollections();
+        SplittableRandom random = new SplittableRandom(entries);
+        long start = System.nanoTime();
+        for (int i = 0; i < entries; i++) {
+            cache.store(random.nextLong(), i);
+        }
+        long fillMillis = (System.nanoTime() - start) / 1_000_000;
+        long[] gcFilled = garbageCollections();
+        System.out.printf("%-64s filled %d entries in %d ms, %d GCs taking %d ms%n",
+                name, entries, fillMillis, gcFilled[0] - gcBefore[0], gcFilled[1] - gcBefore[1]);
+
+        harness.measure(name + ".probe+store", () -> probeAndStore(cache));
+        long[] gcAfter = garbageCollections();
+        System.out.printf("    %d GCs taking %d ms while measuring%n", gcAfter[0] - gcFilled[0], gcAfter[1] - gcFilled[1]);
+    }
+
+    /**
+     * Gets the total number of garbage collections so far and the total time they took.
+     *
+     * @return the collection count and the collection time in milliseconds
+     */
+    private static long[] garbageCollections() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return new long[] {count, time};
+    }
+
+    /**
+     * Runs the benchmark for each kind of cache.
+     *
+     * @param args an optional {@code entries=} number of entries to fill each cache with
+     */
+    public static void main(String[] args) {
+        int entries = 1 << 22;
+        for (String arg : args) {
+            if (arg.startsWith("entries=")) {
+                entries = Integer.parseInt(arg.substring("entries=".length()));
+            }
+        }
+
+        TranspositionTableBenchmark benchmark = new TranspositionTableBenchmark();
+        Microbenchmark harness = new Microbenchmark();
+
+        Map<Long, Long> map = new HashMap<>();
+        benchmark.run(harness, "HashMap<Long, Long>", new Cache() {
+            @Override
+            public long probe(long hash) {
+                Long entry = map.get(hash);
+                return entry == null ? TranspositionTable.MISS : entry;
+            }
+
+            @Override
+            public void store(long hash, int value) {
+                map.put(hash, (long) value << 32 | TranspositionTable.EXACT);
+            }
+        }, entries);
+        map.clear();
+        System.gc();
+
+        TranspositionTable table = new TranspositionTable(entries, ReplacementPolicy.ALWAYS);
+        benchmark.run(harness, "TranspositionTable", new Cache() {
+            @Override
+            public long probe(long hash) {
+                return table.probe(hash);
+            }
+
+            @Override
+            public void store(long hash, int value) {
+                table.store(hash, value, 0, TranspositionTable.EXACT, -1);
+            }
+        }, entries);
+
+        OffHeapTranspositionTable offHeap = new OffHeapTranspositionTable(entries, ReplacementPolicy.ALWAYS);
+        benchmark.run(harness, "OffHeapTranspositionTable", new Cache() {
+            @Override
+            public long probe(long hash) {
+                return offHeap.probe(hash);
+            }
+
+            @Override
+            public void store(long hash, int value) {
+                offHeap.store(hash, value, 0, TranspositionTable.EXACT, -1);
+            }
+        }, entries);
+    }
+}
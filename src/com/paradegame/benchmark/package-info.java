@@ -0,0 +1,5 @@
+/**
+ * This package contains benchmarks measuring the cost of the rule engine and the AI decision paths,
+ * together with the Microbenchmark harness they are run with.
+ */
+package com.paradegame.benchmark;
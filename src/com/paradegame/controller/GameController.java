@@ -1,7 +1,6 @@
 package com.paradegame.controller;
 
 import java.util.*;
-import java.util.stream.*;
 import com.paradegame.model.*;
 import com.paradegame.view.*;
 import com.paradegame.ai.*;
@@ -12,6 +11,7 @@ import com.paradegame.ai.*;
  */
 public class GameController {
     private GameState gameState;
+    private GameEngine gameEngine;
     private ConsoleView consoleView;
     private InputHandler inputHandler;
     private CardDisplayer cardDisplayer;
@@ -41,6 +41,7 @@ public class GameController {
             }
         }
         this.gameState = new GameState(players);
+        this.gameEngine = new GameEngine(gameState);
     }
 
     /**
@@ -58,10 +59,10 @@ public class GameController {
             Player currentPlayer = gameState.getCurrentPlayer();
 
             Card playedCard;
-            List<Card> collectedCards = new ArrayList<>();
+            List<Card> collectedCards;
 
             if (currentPlayer instanceof AIPlayer) {
-                playedCard = ((AIPlayer) currentPlayer).chooseCard(gameState.getParade());
+                playedCard = ((AIPlayer) currentPlayer).chooseCard(gameState.getView(gameState.getCurrentPlayerIndex()));
                 System.out.println(currentPlayer.getName() + " played: " + playedCard);
             } else {
                 // Prompt the player to choose a card
@@ -69,33 +70,21 @@ public class GameController {
                 playedCard = currentPlayer.getHand().get(cardIndex);
             }
 
-            currentPlayer.removeFromHand(playedCard);
-            gameState.getParade().addCard(playedCard);
-            collectedCards = gameState.getParade().handleCardPlayed(playedCard);
-            currentPlayer.addCollected(collectedCards);
-            Card newCard = null;
-
-            gameState.checkLastRound();
-            if (!gameState.isLastRound() || (gameState.getlastRoundIndex() == 1 && !gameState.getDeck().isEmpty())) {
-                newCard = gameState.getDeck().draw();
-                currentPlayer.addToHand(newCard);
-            }
+            collectedCards = gameEngine.playCard(currentPlayer, playedCard);
+            Card newCard = gameEngine.getLastDrawnCard();
 
             consoleView.displayTurnSummary(gameState, playedCard, collectedCards, newCard);
 
             inputHandler.promptForNextTurn();
 
             // Move to the next player
-            gameState.nextTurn();
+            gameEngine.nextTurn();
         }
 
         // Take a snapshot of collected cards before discard phase starts
         for (Player player : gameState.getPlayers()) {
-            List<Card> copied = new ArrayList<>();
-            for (Card card : player.getCollected()) {
-                copied.add(new Card(card.getColour(), card.getValue())); // deep copy
-            }
-            beforeDiscardCollected.put(player.getId(), copied);
+            // Cards are immutable, so copying the list is enough
+            beforeDiscardCollected.put(player.getId(), new ArrayList<>(player.getCollected()));
         }
 
         // Discard phase
@@ -108,20 +97,10 @@ public class GameController {
             int cardIndex;
 
             if (currentPlayer instanceof AIPlayer) {
-                int[] discards = ((AIPlayer) currentPlayer).chooseDiscards(currentPlayer.getHand(),
-                        gameState.getPlayers());
-
-                int index1 = Math.max(discards[0], discards[1]);
-                int index2 = Math.min(discards[0], discards[1]);
+                int[] discards = ((AIPlayer) currentPlayer).chooseDiscards(
+                        gameState.getView(gameState.getCurrentPlayerIndex()));
 
-                Card discard1 = currentPlayer.getHand().get(index1);
-                Card discard2 = currentPlayer.getHand().get(index2);
-
-                currentPlayer.removeFromHand(discard1);
-                currentPlayer.removeFromHand(discard2);
-
-                currentPlayer.addCollected(currentPlayer.getHand());
-                currentPlayer.getHand().clear();
+                gameEngine.discard(currentPlayer, discards);
 
             } else {
                 cardIndex = inputHandler.promptPlayerForCard(currentPlayer, gameState, cardDisplayer);
@@ -135,17 +114,16 @@ public class GameController {
                 discardedCard = currentPlayer.getHand().get(cardIndex);
                 currentPlayer.removeFromHand(discardedCard);
 
-                currentPlayer.addCollected(currentPlayer.getHand());
-                currentPlayer.getHand().clear();
+                gameEngine.collectHand(currentPlayer);
             }
 
-            gameState.nextTurn();
+            gameEngine.nextTurn();
         }
 
-        Map<Player, Integer> scores = gameState.calculateScores();
+        ScoreResult scores = gameState.calculateScores();
 
         // Display winner
-        consoleView.displayWinner(gameState, getWinner(scores), scores);
+        consoleView.displayWinner(gameState, getWinner(scores.getScores()), scores);
     }
 
      /**
@@ -178,28 +156,7 @@ public class GameController {
      * @return the player with the lowest score, or the one with the fewest collected cards in case of a tie
      */
     public Player getWinner(Map<Player, Integer> scores) {
-        int minScore = Collections.min(scores.values());
-
-        // Add players with score equal to the lowest score to a list
-        List<Player> winners = scores.entrySet().stream()
-                .filter(e -> e.getValue() == minScore)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-
-        // If multiple winners, check for player with least number of cards
-        if (winners.size() > 1) {
-            Player minCardsWinner = winners.get(0);
-            int minCards = minCardsWinner.getCollected().size();
-            for (Player winner : winners) {
-                if (winner.getCollected().size() < minCards) {
-                    minCardsWinner = winner;
-                    minCards = winner.getCollected().size();
-                }
-            }
-            // P.S. It's probably impossible for two players to have the same score and same number of cards
-            return minCardsWinner;
-        }
-        return winners.get(0);
+        return GameEngine.getWinner(scores);
     }
 
     /**
@@ -0,0 +1,303 @@
+package com.paradegame.controller;
+
+import java.util.*;
+import java.util.stream.*;
+import com.paradegame.model.*;
+import com.paradegame.ai.*;
+
+/**
+ * The GameEngine class applies the rules of the game to a GameState without any console
+ * output, user input or pacing.
+ *
+ * The GameController uses it to carry out every move, while AI-only games can be driven
+ * directly through {@link #step()} and {@link #playToEnd()}, which makes it suitable for
+ * running large numbers of games when evaluating bots.
+ *
+ * The engine keeps a Zobrist hash of the position up to date as it applies moves, changing it
+ * only for the cards each move touches, so search and caching code can identify positions cheaply.
+ * Turns must therefore be advanced through {@link #nextTurn()} rather than on the game state directly.
+ *
+ * Every AI player in the game is told about the game when the engine is created, and about every card
+ * played and collected afterwards, so that it can keep track of the cards it has not seen.
+ */
+public class GameEngine {
+    private final GameState gameState;
+    private final List<AIPlayer> observers = new ArrayList<>();
+    private Card lastDrawnCard;
+    private boolean discardPhaseStarted = false;
+    private ScoreResult scores;
+    private long hash;
+
+    /**
+     * Constructs a new GameEngine that drives the given game state.
+     *
+     * @param gameState the game state to apply moves to
+     */
+    public GameEngine(GameState gameState) {
+        this.gameState = gameState;
+        this.hash = Zobrist.hash(gameState);
+
+        List<Player> players = gameState.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat) instanceof AIPlayer) {
+                AIPlayer observer = (AIPlayer) players.get(seat);
+                observer.observeGameStart(gameState.getView(seat));
+                observers.add(observer);
+            }
+        }
+    }
+
+    /**
+     * Constructs a new GameEngine for a fresh game between the given players.
+     *
+     * @param players the players taking part in the game
+     */
+    public GameEngine(List<Player> players) {
+        this(new GameState(players));
+    }
+
+    /**
+     * Constructs a new GameEngine for a fresh game between the given players, shuffling the deck with the given seed.
+     * As long as the players decide deterministically, the game can be replayed exactly from its seed.
+     *
+     * @param players the players taking part in the game
+     * @param seed the seed used to shuffle the deck
+     */
+    public GameEngine(List<Player> players, long seed) {
+        this(new GameState(players, seed));
+    }
+
+    /**
+     * Plays a card from the given player's hand.
+     * The card is added to the parade, the cards it releases are collected by the player,
+     * the last round condition is checked and the player draws a new card if allowed.
+     * The turn is not advanced, so that callers can still inspect the current player.
+     *
+     * @param player the player playing the card
+     * @param playedCard the card being played
+     * @return the list of cards collected by the player as a result of this move
+     */
+    public List<Card> playCard(Player player, Card playedCard) {
+        int seat = gameState.getPlayers().indexOf(player);
+        long paradeHash = gameState.getParade().getHash();
+        int lastRoundIndex = gameState.getlastRoundIndex();
+        int deckSize = gameState.getDeck().size();
+
+        player.removeFromHand(playedCard);
+        gameState.getParade().addCard(playedCard);
+        List<Card> collectedCards = gameState.getParade().handleCardPlayed(playedCard);
+        player.addCollected(collectedCards);
+        lastDrawnCard = null;
+
+        gameState.checkLastRound();
+        if (!gameState.isLastRound() || (gameState.getlastRoundIndex() == 1 && !gameState.getDeck().isEmpty())) {
+            lastDrawnCard = gameState.getDeck().draw();
+            player.addToHand(lastDrawnCard);
+            hash ^= Zobrist.hand(seat, lastDrawnCard.getId());
+        }
+
+        hash ^= Zobrist.hand(seat, playedCard.getId());
+        for (Card card : collectedCards) {
+            hash ^= Zobrist.collected(seat, card.getId());
+        }
+        hash ^= paradeHash ^ gameState.getParade().getHash()
+                ^ Zobrist.lastRound(lastRoundIndex) ^ Zobrist.lastRound(gameState.getlastRoundIndex())
+                ^ Zobrist.deck(deckSize) ^ Zobrist.deck(gameState.getDeck().size());
+
+        for (AIPlayer observer : observers) {
+            observer.observeCardPlayed(seat, playedCard);
+            observer.observeCardsCollected(seat, collectedCards);
+        }
+        return collectedCards;
+    }
+
+    /**
+     * Discards the two cards at the given hand indices and collects the rest of the player's hand.
+     *
+     * @param player the player discarding
+     * @param discards an array of two integers, each representing the index of a card to discard
+     */
+    public void discard(Player player, int[] discards) {
+        Card discard1 = player.getHand().get(Math.max(discards[0], discards[1]));
+        Card discard2 = player.getHand().get(Math.min(discards[0], discards[1]));
+
+        int seat = gameState.getPlayers().indexOf(player);
+        player.removeFromHand(discard1);
+        player.removeFromHand(discard2);
+        hash ^= Zobrist.hand(seat, discard1.getId()) ^ Zobrist.hand(seat, discard2.getId());
+        collectHand(player);
+    }
+
+    /**
+     * Moves every card left in the player's hand into their collected pile.
+     * This is the final step of a player's discard phase.
+     *
+     * @param player the player whose hand is collected
+     */
+    public void collectHand(Player player) {
+        int seat = gameState.getPlayers().indexOf(player);
+        for (Card card : player.getHand()) {
+            hash ^= Zobrist.hand(seat, card.getId()) ^ Zobrist.collected(seat, card.getId());
+        }
+        for (AIPlayer observer : observers) {
+            observer.observeCardsCollected(seat, player.getHand());
+        }
+        player.addCollected(player.getHand());
+        player.getHand().clear();
+    }
+
+    /**
+     * Advances the turn to the next player.
+     */
+    public void nextTurn() {
+        hash ^= Zobrist.turn(gameState.getCurrentPlayerIndex());
+        gameState.nextTurn();
+        hash ^= Zobrist.turn(gameState.getCurrentPlayerIndex());
+    }
+
+    /**
+     * Checks whether the play phase has ended, either because the game is over
+     * or because the current player has reached the discard phase.
+     *
+     * @return {@code true} if no more cards are to be played, {@code false} otherwise
+     */
+    public boolean isPlayPhaseOver() {
+        return gameState.isGameOver() || gameState.isDiscardPhase();
+    }
+
+    /**
+     * Plays the next move of the game for the current player, who must be an AI player.
+     * During the play phase the player plays a card; during the discard phase they discard two cards.
+     * The turn is advanced after the move.
+     *
+     * @return {@code true} if a move was made, {@code false} if the game has already ended
+     * @throws IllegalStateException if the current player is not an AI player
+     */
+    public boolean step() {
+        if (scores != null) {
+            return false;
+        }
+        if (!discardPhaseStarted && isPlayPhaseOver()) {
+            discardPhaseStarted = true;
+        }
+        if (discardPhaseStarted && !gameState.isDiscardPhase()) {
+            scores = gameState.calculateScores();
+            return false;
+        }
+
+        AIPlayer currentPlayer = currentAIPlayer();
+        GameView view = gameState.getView(gameState.getCurrentPlayerIndex());
+        if (discardPhaseStarted) {
+            discard(currentPlayer, currentPlayer.chooseDiscards(view));
+        } else {
+            playCard(currentPlayer, currentPlayer.chooseCard(view));
+        }
+        nextTurn();
+        return true;
+    }
+
+    /**
+     * Plays every remaining move of the game and calculates the final scores.
+     *
+     * @return the final scores and the colours each player flipped
+     * @throws IllegalStateException if a player who still has to move is not an AI player
+     */
+    public ScoreResult playToEnd() {
+        while (step()) {
+            // Keep playing until the game is over
+        }
+        return scores;
+    }
+
+    /**
+     * Checks whether the game has ended and the final scores have been calculated.
+     *
+     * @return {@code true} if the game is finished, {@code false} otherwise
+     */
+    public boolean isFinished() {
+        return scores != null;
+    }
+
+    /**
+     * Gets the final scores of the game.
+     *
+     * @return the final scores and the colours each player flipped, or {@code null} if the game is not finished
+     */
+    public ScoreResult getScores() {
+        return scores;
+    }
+
+    /**
+     * Gets the card drawn by the player during the most recent call to {@link #playCard(Player, Card)}.
+     *
+     * @return the drawn card, or {@code null} if no card was drawn
+     */
+    public Card getLastDrawnCard() {
+        return lastDrawnCard;
+    }
+
+    /**
+     * Gets the Zobrist hash of the current position, as maintained move by move.
+     * It always equals {@link Zobrist#hash(GameState)} of the game state.
+     *
+     * @return the hash of the position
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the game state driven by this engine.
+     *
+     * @return the game state
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Determines the winner of the game based on the calculated scores. If multiple players have the same score,
+     * the winner is chosen based on the least number of collected cards.
+     *
+     * @param scores a map of players and their respective scores
+     * @return the player with the lowest score, or the one with the fewest collected cards in case of a tie
+     */
+    public static Player getWinner(Map<Player, Integer> scores) {
+        int minScore = Collections.min(scores.values());
+
+        // Add players with score equal to the lowest score to a list
+        List<Player> winners = scores.entrySet().stream()
+                .filter(e -> e.getValue() == minScore)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        // If multiple winners, check for player with least number of cards
+        if (winners.size() > 1) {
+            Player minCardsWinner = winners.get(0);
+            int minCards = minCardsWinner.getCollected().size();
+            for (Player winner : winners) {
+                if (winner.getCollected().size() < minCards) {
+                    minCardsWinner = winner;
+                    minCards = winner.getCollected().size();
+                }
+            }
+            // P.S. It's probably impossible for two players to have the same score and same number of cards
+            return minCardsWinner;
+        }
+        return winners.get(0);
+    }
+
+    /**
+     * Gets the current player as an AI player.
+     *
+     * @return the current player
+     * @throws IllegalStateException if the current player is not an AI player
+     */
+    private AIPlayer currentAIPlayer() {
+        Player currentPlayer = gameState.getCurrentPlayer();
+        if (!(currentPlayer instanceof AIPlayer)) {
+            throw new IllegalStateException(currentPlayer.getName() + " is not an AI player");
+        }
+        return (AIPlayer) currentPlayer;
+    }
+}
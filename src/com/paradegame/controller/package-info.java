@@ -1,4 +1,5 @@
 /**
- * This package contains the GameController Class which is responsible for controlling the game flow.
+ * This package contains the GameController Class which is responsible for controlling the game flow,
+ * and the GameEngine class which applies the game rules without any console input or output.
  */
 package com.paradegame.controller;
@@ -0,0 +1,207 @@
+package com.paradegame.model;
+
+/**
+ * Computes the final scores of a whole batch of games at once, such as the endings evaluated by an AI
+ * or the games of a batch simulation, applying the same rules as the {@link ScoreCalculator}.
+ *
+ * The colour totals are stored with the games as the innermost dimension: the totals of one player and
+ * colour for every game of the batch are contiguous, at {@code (player * Card.COLOURS + colour) * capacity
+ * + game}. Each step of the scoring, finding the most cards of a colour and adding up the points of a
+ * player, is then one loop over consecutive games. Which of a colour's count or value is scored is picked
+ * with masks made from the sign of a difference rather than with a branch, so every loop only adds,
+ * subtracts, shifts and combines ints, which the JIT compiler can run several games at a time in vector
+ * registers. Totals are added one game at a time from the usual per-player layout, and the scores of a
+ * game are read back per player.
+ */
+public final class BatchScoreCalculator {
+    private static final int COLOURS = Card.COLOURS;
+
+    private final int numPlayers;
+    private final int capacity;
+    private final int[] counts;
+    private final int[] values;
+    private final int[] scores;
+    private final int[] max;
+    private int size;
+
+    /**
+     * Constructs a new empty BatchScoreCalculator.
+     *
+     * @param numPlayers the number of players in every game
+     * @param capacity the largest number of games in a batch
+     */
+    public BatchScoreCalculator(int numPlayers, int capacity) {
+        this.numPlayers = numPlayers;
+        this.capacity = capacity;
+        this.counts = new int[numPlayers * COLOURS * capacity];
+        this.values = new int[numPlayers * COLOURS * capacity];
+        this.scores = new int[numPlayers * capacity];
+        this.max = new int[capacity];
+    }
+
+    /**
+     * Removes every game from the batch.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds a game to the batch from totals in the layout used by the {@link ScoreCalculator}.
+     *
+     * @param gameCounts the number of collected cards of each colour for each player
+     * @param gameValues the total value of collected cards of each colour for each player
+     * @return the index of the game in the batch
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(int[] gameCounts, int[] gameValues) {
+        return add(gameCounts, gameValues, 0);
+    }
+
+    /**
+     * Adds a game to the batch from totals in the layout used by the {@link ScoreCalculator},
+     * starting at an offset, such as one game of many stored one after another.
+     *
+     * @param gameCounts the array holding the number of collected cards of each colour for each player
+     * @param gameValues the array holding the total value of collected cards of each colour for each player
+     * @param offset the index of the totals of the first player and colour
+     * @return the index of the game in the batch
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(int[] gameCounts, int[] gameValues, int offset) {
+        if (size == capacity) {
+            throw new IllegalStateException("Batch is full: " + capacity + " games");
+        }
+        int game = size++;
+        for (int i = 0; i < numPlayers * COLOURS; i++) {
+            counts[i * capacity + game] = gameCounts[offset + i];
+            values[i * capacity + game] = gameValues[offset + i];
+        }
+        return game;
+    }
+
+    /**
+     * Calculates the score of every player of every game in the batch.
+     */
+    public void calculateScores() {
+        if (numPlayers == 2) {
+            calculateTwoPlayerScores();
+        } else {
+            calculateMultiPlayerScores();
+        }
+    }
+
+    /**
+     * Calculates the scores of 2-player games, where a colour is flipped only with a lead of at least 2 cards.
+     */
+    private void calculateTwoPlayerScores() {
+        int n = size;
+        for (int g = 0; g < n; g++) {
+            scores[g] = 0;
+            scores[capacity + g] = 0;
+        }
+        for (int c = 0; c < COLOURS; c++) {
+            int first = c * capacity;
+            int second = (COLOURS + c) * capacity;
+            for (int g = 0; g < n; g++) {
+                int count0 = counts[first + g];
+                int count1 = counts[second + g];
+                int value0 = values[first + g];
+                int value1 = values[second + g];
+                int lead = count0 - count1;
+
+                // All ones if the player flips the colour, so the count is scored instead of the value
+                int flip0 = 1 - lead >> 31;
+                int flip1 = 1 + lead >> 31;
+                scores[g] += value0 ^ ((value0 ^ count0) & flip0);
+                scores[capacity + g] += value1 ^ ((value1 ^ count1) & flip1);
+            }
+        }
+    }
+
+    /**
+     * Calculates the scores of games with more than 2 players, where every player
+     * tied for the most cards of a colour flips it.
+     */
+    private void calculateMultiPlayerScores() {
+        int n = size;
+        for (int p = 0; p < numPlayers; p++) {
+            for (int g = 0; g < n; g++) {
+                scores[p * capacity + g] = 0;
+            }
+        }
+        for (int c = 0; c < COLOURS; c++) {
+            for (int g = 0; g < n; g++) {
+                max[g] = 0;
+            }
+            for (int p = 0; p < numPlayers; p++) {
+                int row = (p * COLOURS + c) * capacity;
+                for (int g = 0; g < n; g++) {
+                    max[g] = Math.max(max[g], counts[row + g]);
+                }
+            }
+            for (int p = 0; p < numPlayers; p++) {
+                int row = (p * COLOURS + c) * capacity;
+                int scoreRow = p * capacity;
+                for (int g = 0; g < n; g++) {
+                    int count = counts[row + g];
+                    int value = values[row + g];
+
+                    // All ones if the player has fewer cards than the most, so the value is scored
+                    int behind = count - max[g] >> 31;
+                    scores[scoreRow + g] += count ^ ((count ^ value) & behind);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the score of a player in a game of the batch, as last calculated.
+     *
+     * @param game the index of the game in the batch
+     * @param player the index of the player
+     * @return the player's score
+     */
+    public int getScore(int game, int player) {
+        return scores[player * capacity + game];
+    }
+
+    /**
+     * Writes the scores of every player in a game of the batch, as last calculated.
+     *
+     * @param game the index of the game in the batch
+     * @param gameScores the array receiving the score of each player, at least {@code numPlayers} long
+     */
+    public void getScores(int game, int[] gameScores) {
+        for (int p = 0; p < numPlayers; p++) {
+            gameScores[p] = scores[p * capacity + game];
+        }
+    }
+
+    /**
+     * Gets the number of games in the batch.
+     *
+     * @return the number of games added since the batch was last cleared
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the largest number of games in a batch.
+     *
+     * @return the capacity of the batch
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of players in every game.
+     *
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+}
@@ -4,13 +4,36 @@ import com.paradegame.util.Config;
 
 /**
  * Represents a card with a colour and a value.
- * The card can be flipped and its value can be modified to 1 for score calculation.
+ * Cards are immutable flyweights: there is exactly one Card object for every colour and value,
+ * obtained through {@link #of(Colour, int)} or {@link #of(int)}, so the same cards are shared
+ * by every deck and every game. Each card is identified by a small integer id.
  * It also supports colour-coded output for printing.
  */
-public class Card implements Comparable<Card> {
+public final class Card implements Comparable<Card> {
+    /** Number of card colours. */
+    public static final int COLOURS = Colour.values().length;
+
+    /** Number of cards of each colour, as specified in the configuration. */
+    public static final int CARDS_PER_COLOUR = Config.getInt("cardsPerColor", 11);
+
+    /** Total number of cards in the game. */
+    public static final int DECK_SIZE = COLOURS * CARDS_PER_COLOUR;
+
+    // One shared card for every id
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (Colour colour : Colour.values()) {
+            for (int value = 0; value < CARDS_PER_COLOUR; value++) {
+                Card card = new Card(colour, value);
+                CARDS[card.id] = card;
+            }
+        }
+    }
+
     private final Colour colour;
-    private int value;
-    private boolean isFlipped = false;
+    private final int value;
+    private final int id;
 
     // Coloured prints
     public static final String ANSI_RESET = "\u001B[0m";
@@ -27,56 +50,94 @@ public class Card implements Comparable<Card> {
      * @param colour the colour of the card
      * @param value the numerical value of the card
      */
-    public Card(Colour colour, int value) {
+    private Card(Colour colour, int value) {
         this.colour = colour;
         this.value = value;
+        this.id = idOf(colour, value);
     }
 
     /**
-     * Gets the colour of the card
-     * 
-     * @return The colour of the card
+     * Gets the card with the specified colour and value.
+     *
+     * @param colour the colour of the card
+     * @param value the numerical value of the card
+     * @return the shared card with that colour and value
+     * @throws IllegalArgumentException if the value is outside the configured range
      */
-    public Colour getColour() {
-        return colour;
+    public static Card of(Colour colour, int value) {
+        if (value < 0 || value >= CARDS_PER_COLOUR) {
+            throw new IllegalArgumentException("Card value out of range: " + value);
+        }
+        return CARDS[idOf(colour, value)];
     }
 
     /**
-     * Gets the value of the card
-     * 
-     * @return The value of the card
+     * Gets the card with the specified id.
+     *
+     * @param id the id of the card
+     * @return the shared card with that id
      */
-    public int getValue() {
-        return value;
+    public static Card of(int id) {
+        return CARDS[id];
     }
 
     /**
-     * Sets value of the card.
-     * This method is used to change the card's value to 1 during the flipping process,
-     * which occurs when calculating scores.
-     * 
-     * @param value The new value of the card.
+     * Gets the id of the card with the specified colour and value.
+     * Ids run from 0 to {@link #DECK_SIZE} - 1, grouped by colour.
+     *
+     * @param colour the colour of the card
+     * @param value the numerical value of the card
+     * @return the id of the card
      */
-    public void setValue(int value) {
-        this.value = value;
+    public static int idOf(Colour colour, int value) {
+        return colour.ordinal() * CARDS_PER_COLOUR + value;
     }
 
     /**
-     * Sets the flip status of the card
-     * 
-     * @param flipped {@code true} if the card is flipped, {@code false} otherwise.
+     * Gets the colour index of the card with the specified id.
+     *
+     * @param id the id of the card
+     * @return the ordinal of the card's colour
+     */
+    public static int colourOf(int id) {
+        return id / CARDS_PER_COLOUR;
+    }
+
+    /**
+     * Gets the value of the card with the specified id.
+     *
+     * @param id the id of the card
+     * @return the value of the card
      */
-    public void setFlipped(boolean flipped) {
-        this.isFlipped = flipped;
+    public static int valueOf(int id) {
+        return id % CARDS_PER_COLOUR;
     }
-    
+
     /**
-     * Checks whether the card is flipped.
+     * Gets the id of the card
      *
-     * @return {@code true} if the card is flipped, {@code false} otherwise.
+     * @return The id of the card
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the colour of the card
+     * 
+     * @return The colour of the card
+     */
+    public Colour getColour() {
+        return colour;
+    }
+
+    /**
+     * Gets the value of the card
+     * 
+     * @return The value of the card
      */
-    public boolean isFlipped() {
-        return isFlipped;
+    public int getValue() {
+        return value;
     }
 
     /**
@@ -100,9 +161,20 @@ public class Card implements Comparable<Card> {
      */
     @Override
     public String toString() {
+        return toString(false);
+    }
+
+    /**
+     * Returns a string representation of the card, shown either face up or flipped.
+     * A flipped card is shown with a value of 1, as it is worth 1 point when scoring.
+     * If ANSI colors are enabled, the card's colour is displayed with corresponding ANSI codes.
+     *
+     * @param flipped {@code true} if the card has been flipped during scoring, {@code false} otherwise.
+     * @return A formatted string representation of the card.
+     */
+    public String toString(boolean flipped) {
         boolean useColors = Config.getBoolean("useAnsiColors", true);
-        String label = isFlipped ? "FLIPPED" : colour.toString();
-        String output = label + " " + value;
+        String output = flipped ? "FLIPPED 1" : colour + " " + value;
 
         if (!useColors) {
             return output;
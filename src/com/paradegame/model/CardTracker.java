@@ -0,0 +1,217 @@
+package com.paradegame.model;
+
+/**
+ * Keeps count of the cards one player has not seen in a game, as the game goes on.
+ *
+ * A card is seen once it has been in the parade, in the player's own hand or in anyone's collected pile.
+ * Every other card is unseen: it is still in the deck, in another player's hand, or was discarded by
+ * another player. The tracker is told about each card as it is revealed, so the number of unseen cards
+ * of every colour and value can be read in constant time without scanning any piles, for use by AI
+ * heuristics and when sampling the unseen cards.
+ *
+ * The tracker also keeps the Zobrist keys of every collected card, so that a compact copy of the game
+ * can be hashed without going through the collected piles.
+ */
+public class CardTracker {
+    private static final int COLOURS = Card.COLOURS;
+
+    private final long[] seen = new long[(Card.DECK_SIZE + Long.SIZE - 1) / Long.SIZE];
+    private final int[] unseenByColour = new int[COLOURS];
+    private final int[] unseenValueByColour = new int[COLOURS];
+    private final int[] unseenByValue = new int[Card.CARDS_PER_COLOUR];
+    private int unseen;
+    private long collectedHash;
+    private GameView view;
+
+    /**
+     * Constructs a new CardTracker to which no card has been revealed.
+     */
+    public CardTracker() {
+        reset();
+    }
+
+    /**
+     * Forgets every revealed card and the game being followed.
+     */
+    public void reset() {
+        for (int w = 0; w < seen.length; w++) {
+            seen[w] = 0;
+        }
+        for (int c = 0; c < COLOURS; c++) {
+            unseenByColour[c] = Card.CARDS_PER_COLOUR;
+            unseenValueByColour[c] = Card.CARDS_PER_COLOUR * (Card.CARDS_PER_COLOUR - 1) / 2;
+        }
+        for (int v = 0; v < Card.CARDS_PER_COLOUR; v++) {
+            unseenByValue[v] = COLOURS;
+        }
+        unseen = Card.DECK_SIZE;
+        collectedHash = 0;
+        view = null;
+    }
+
+    /**
+     * Starts following a game as seen by one of its players, revealing the parade, the player's hand
+     * and every collected pile. After this, the tracker must be told about every card revealed later.
+     *
+     * @param view the game to follow, as seen by the player whose knowledge is tracked
+     */
+    public void observe(GameView view) {
+        reset();
+        this.view = view;
+
+        for (int pos = 0; pos < view.getParadeSize(); pos++) {
+            reveal(view.getParadeCard(pos));
+        }
+        for (Card card : view.getHand()) {
+            reveal(card.getId());
+        }
+        for (int p = 0; p < view.getNumPlayers(); p++) {
+            for (Card card : view.getCollected(p)) {
+                revealCollected(p, card);
+            }
+        }
+    }
+
+    /**
+     * Creates a tracker for a player of a game, scanning the game once.
+     *
+     * @param view the game to follow, as seen by the player whose knowledge is tracked
+     * @return the tracker
+     */
+    public static CardTracker of(GameView view) {
+        CardTracker tracker = new CardTracker();
+        tracker.observe(view);
+        return tracker;
+    }
+
+    /**
+     * Marks a card as seen. Revealing a card that has already been seen has no effect.
+     *
+     * @param card the revealed card
+     */
+    public void reveal(Card card) {
+        reveal(card.getId());
+    }
+
+    /**
+     * Marks the card with the given id as seen. Revealing a card that has already been seen has no effect.
+     *
+     * @param id the id of the revealed card
+     * @return {@code true} if the card had not been seen before, {@code false} otherwise
+     */
+    public boolean reveal(int id) {
+        long bit = 1L << id;
+        if ((seen[id >>> 6] & bit) != 0) {
+            return false;
+        }
+        seen[id >>> 6] |= bit;
+        int colour = Card.colourOf(id);
+        int value = Card.valueOf(id);
+        unseenByColour[colour]--;
+        unseenValueByColour[colour] -= value;
+        unseenByValue[value]--;
+        unseen--;
+        return true;
+    }
+
+    /**
+     * Marks a card as seen because a player has collected it.
+     *
+     * @param player the index of the player who collected the card
+     * @param card the collected card
+     */
+    public void revealCollected(int player, Card card) {
+        reveal(card.getId());
+        collectedHash ^= Zobrist.collected(player, card.getId());
+    }
+
+    /**
+     * Checks whether the tracker is following a game as seen by a player.
+     *
+     * @param view the game as seen by the player
+     * @return {@code true} if the tracker was last told to {@link #observe(GameView) observe} that view,
+     *         {@code false} otherwise
+     */
+    public boolean isTracking(GameView view) {
+        return this.view == view;
+    }
+
+    /**
+     * Checks whether a card has not been seen.
+     *
+     * @param id the id of the card
+     * @return {@code true} if the card has not been seen, {@code false} otherwise
+     */
+    public boolean isUnseen(int id) {
+        return (seen[id >>> 6] & 1L << id) == 0;
+    }
+
+    /**
+     * Gets the number of cards not seen.
+     *
+     * @return the number of unseen cards
+     */
+    public int getUnseenCount() {
+        return unseen;
+    }
+
+    /**
+     * Gets the number of cards of a colour not seen.
+     *
+     * @param colour the ordinal of the colour
+     * @return the number of unseen cards of that colour
+     */
+    public int getUnseenCount(int colour) {
+        return unseenByColour[colour];
+    }
+
+    /**
+     * Gets the total value of the cards of a colour not seen.
+     *
+     * @param colour the ordinal of the colour
+     * @return the sum of the values of the unseen cards of that colour
+     */
+    public int getUnseenValue(int colour) {
+        return unseenValueByColour[colour];
+    }
+
+    /**
+     * Gets the number of cards of a value not seen, over all colours.
+     *
+     * @param value the value of the cards
+     * @return the number of unseen cards of that value
+     */
+    public int getUnseenCountOfValue(int value) {
+        return unseenByValue[value];
+    }
+
+    /**
+     * Writes the ids of the cards not seen, in order of id.
+     *
+     * @param ids the array receiving the ids, at least {@link #getUnseenCount()} long
+     * @return the number of ids written
+     */
+    public int getUnseenCards(byte[] ids) {
+        int count = 0;
+        for (int w = 0; w < seen.length; w++) {
+            long bits = ~seen[w];
+            if (w == seen.length - 1 && Card.DECK_SIZE % Long.SIZE != 0) {
+                bits &= (1L << Card.DECK_SIZE % Long.SIZE) - 1;
+            }
+            for (; bits != 0; bits &= bits - 1) {
+                ids[count++] = (byte) (w * Long.SIZE + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the XOR of the Zobrist keys of every collected card revealed to the tracker.
+     *
+     * @return the hash of the collected piles
+     * @see Zobrist#collected(int, int)
+     */
+    public long getCollectedHash() {
+        return collectedHash;
+    }
+}
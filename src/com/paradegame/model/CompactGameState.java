@@ -0,0 +1,676 @@
+package com.paradegame.model;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import com.paradegame.util.Config;
+
+/**
+ * A compact, copyable representation of a game, used by AI players that search ahead.
+ *
+ * All state is held in primitive arrays: the parade and every hand as card ids, each player's
+ * collected cards as per-colour counts and value sums, and the deck as card ids in drawing order.
+ * A state can be copied into another one of the same size with {@link #copyFrom(CompactGameState)}
+ * without allocating, and moves are applied in place.
+ *
+ * The rules are the same as those applied by the game engine to a GameState, including when the
+ * last round starts, when a player draws and when the discard phase begins and ends, so that a game
+ * played on a CompactGameState ends with the same scores as the same game played on a GameState.
+ *
+ * A Zobrist hash of the position is kept up to date by every move, and equals the hash the game engine
+ * keeps for the same position of a GameState.
+ */
+public class CompactGameState {
+    private static final int COLOURS = Card.COLOURS;
+
+    private final int numPlayers;
+    private final int handCapacity;
+
+    private final byte[] parade = new byte[Card.DECK_SIZE];
+    private int paradeSize;
+
+    private final byte[] hands;
+    private final int[] handSizes;
+
+    private final int[] collectedCounts;
+    private final int[] collectedValues;
+    private final int[] collectedColourMasks;
+    private final int[] collectedTotals;
+
+    private final byte[] deck = new byte[Card.DECK_SIZE];
+    private final byte[] scratch = new byte[Card.DECK_SIZE];
+    private int deckSize;
+    private int deckIndex;
+    private int outOfPlay;
+
+    private int currentPlayer;
+    private int lastRoundIndex;
+    private boolean lastRound;
+    private boolean discardPhaseStarted;
+    private long hash;
+
+    /**
+     * Constructs a new empty CompactGameState for the given number of players.
+     *
+     * @param numPlayers the number of players in the game
+     */
+    public CompactGameState(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.handCapacity = Math.max(Config.getInt("initialHandSize", 5), 1);
+        this.hands = new byte[numPlayers * handCapacity];
+        this.handSizes = new int[numPlayers];
+        this.collectedCounts = new int[numPlayers * COLOURS];
+        this.collectedValues = new int[numPlayers * COLOURS];
+        this.collectedColourMasks = new int[numPlayers];
+        this.collectedTotals = new int[numPlayers];
+    }
+
+    /**
+     * Constructs a new game for the given number of players, shuffling and dealing the deck
+     * in the same way as a GameState created with the same random generator.
+     *
+     * @param numPlayers the number of players in the game
+     * @param random the random generator used to shuffle the deck
+     */
+    public CompactGameState(int numPlayers, RandomGenerator random) {
+        this(numPlayers);
+        deckSize = Card.DECK_SIZE;
+        for (int id = 0; id < deckSize; id++) {
+            deck[id] = (byte) id;
+        }
+        for (int i = 0; i < deckSize - 1; i++) {
+            int j = i + random.nextInt(deckSize - i);
+            byte temp = deck[i];
+            deck[i] = deck[j];
+            deck[j] = temp;
+        }
+
+        int initialParadeSize = Config.getInt("initialParadeSize", 6);
+        for (int i = 0; i < initialParadeSize && deckIndex < deckSize; i++) {
+            parade[paradeSize++] = deck[deckIndex++];
+        }
+        int initialHandSize = Config.getInt("initialHandSize", 5);
+        for (int p = 0; p < numPlayers; p++) {
+            for (int i = 0; i < initialHandSize && deckIndex < deckSize; i++) {
+                hands[p * handCapacity + handSizes[p]++] = deck[deckIndex++];
+            }
+        }
+        updateDiscardPhase();
+
+        // Nothing has been collected yet, so only the dealt cards and the turn are hashed
+        for (int pos = 0; pos < paradeSize; pos++) {
+            hash ^= Zobrist.parade(pos > 0 ? parade[pos - 1] & 0xFF : -1, parade[pos] & 0xFF);
+        }
+        for (int p = 0; p < numPlayers; p++) {
+            for (int k = 0; k < handSizes[p]; k++) {
+                hash ^= Zobrist.hand(p, getHandCard(p, k));
+            }
+        }
+        hash ^= Zobrist.deck(deckSize - deckIndex) ^ Zobrist.turn(currentPlayer) ^ Zobrist.lastRound(lastRoundIndex);
+    }
+
+    /**
+     * Creates a compact copy of a game state, including every player's hand and the order of the deck.
+     * AI players must only rely on information they could see, and should therefore start from
+     * {@link #fromObservation(GameState, int)} or {@link #determinize(int, RandomGenerator) determinize}
+     * the copy before searching it.
+     *
+     * @param gameState the game state to copy
+     * @return the compact copy of the game state
+     */
+    public static CompactGameState fromGameState(GameState gameState) {
+        List<Player> players = gameState.getPlayers();
+        CompactGameState state = new CompactGameState(players.size());
+
+        Parade gameParade = gameState.getParade();
+        for (int pos = 0; pos < gameParade.size(); pos++) {
+            state.parade[state.paradeSize++] = (byte) gameParade.getCardId(pos);
+        }
+
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            for (Card card : player.getHand()) {
+                state.hands[p * state.handCapacity + state.handSizes[p]++] = (byte) card.getId();
+            }
+            for (int c = 0; c < COLOURS; c++) {
+                state.collectedCounts[p * COLOURS + c] = player.getCollectedCount(c);
+                state.collectedValues[p * COLOURS + c] = player.getCollectedValue(c);
+            }
+            state.collectedColourMasks[p] = player.getCollectedColourMask();
+            state.collectedTotals[p] = player.getCollected().size();
+        }
+
+        Deck gameDeck = gameState.getDeck();
+        for (int i = 0; i < gameDeck.size(); i++) {
+            state.deck[state.deckSize++] = (byte) gameDeck.peek(i).getId();
+        }
+
+        state.currentPlayer = gameState.getCurrentPlayerIndex();
+        state.lastRoundIndex = gameState.getlastRoundIndex();
+        state.lastRound = gameState.isLastRound();
+        state.discardPhaseStarted = gameState.isGameOver() || gameState.isDiscardPhase();
+        state.hash = Zobrist.hash(gameState);
+        return state;
+    }
+
+    /**
+     * Creates a compact copy of a game state as seen by one player.
+     * Only the parade, the observer's own hand, every player's collected cards and the number of cards
+     * in each hand and in the deck are read. The cards the observer cannot see are worked out from these
+     * and placed in the other players' hands and the deck in order of id, so the state must be
+     * {@link #determinize(int, RandomGenerator) determinized} before it is searched. Cards discarded by
+     * the other players are unseen as well; they are kept aside, out of play, and take part in every
+     * determinization so that it also chooses which of the unseen cards were discarded.
+     *
+     * @param gameState the game state to copy
+     * @param observer the index of the player whose view is copied
+     * @return the compact copy of the game as seen by the observer
+     * @throws IllegalStateException if the number of unseen cards does not match the hidden hands and deck
+     */
+    public static CompactGameState fromObservation(GameState gameState, int observer) {
+        GameView view = gameState.getView(observer);
+        return fromObservation(view, CardTracker.of(view));
+    }
+
+    /**
+     * Creates a compact copy of a game as seen by one player, taking the cards the player has not seen
+     * from a tracker that has followed the game, so that the collected piles do not have to be scanned.
+     *
+     * @param view the game as seen by the player whose view is copied
+     * @param tracker the tracker of the cards the player has seen in this game
+     * @return the compact copy of the game as seen by the player
+     * @throws IllegalStateException if the number of unseen cards does not match the hidden hands and deck
+     * @see #fromObservation(GameState, int)
+     */
+    public static CompactGameState fromObservation(GameView view, CardTracker tracker) {
+        int numPlayers = view.getNumPlayers();
+        int observer = view.getPlayerIndex();
+        CompactGameState state = new CompactGameState(numPlayers);
+
+        for (int pos = 0; pos < view.getParadeSize(); pos++) {
+            state.parade[state.paradeSize++] = (byte) view.getParadeCard(pos);
+        }
+        state.hash = view.getParadeHash() ^ tracker.getCollectedHash();
+
+        for (int p = 0; p < numPlayers; p++) {
+            if (p == observer) {
+                for (Card card : view.getHand()) {
+                    state.hands[p * state.handCapacity + state.handSizes[p]++] = (byte) card.getId();
+                }
+            } else {
+                state.handSizes[p] = view.getHandSize(p);
+            }
+            for (int c = 0; c < COLOURS; c++) {
+                state.collectedCounts[p * COLOURS + c] = view.getCollectedCount(p, c);
+                state.collectedValues[p * COLOURS + c] = view.getCollectedValue(p, c);
+            }
+            state.collectedColourMasks[p] = view.getCollectedColourMask(p);
+            state.collectedTotals[p] = view.getCollectedTotal(p);
+        }
+
+        // Deal the unseen cards in order of id: first to the other players' hands, then to the deck,
+        // leaving any cards the other players have discarded after the end of the deck
+        int hidden = view.getDeckSize();
+        for (int p = 0; p < numPlayers; p++) {
+            hidden += p == observer ? 0 : state.handSizes[p];
+        }
+        int unseen = tracker.getUnseenCards(state.scratch);
+        if (unseen < hidden) {
+            throw new IllegalStateException(unseen + " unseen cards for " + hidden + " hidden places");
+        }
+        int next = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != observer) {
+                System.arraycopy(state.scratch, next, state.hands, p * state.handCapacity, state.handSizes[p]);
+                next += state.handSizes[p];
+            }
+            state.hashHand(p);
+        }
+        state.deckSize = hidden - next;
+        state.outOfPlay = unseen - hidden;
+        System.arraycopy(state.scratch, next, state.deck, 0, unseen - next);
+
+        state.currentPlayer = view.getCurrentPlayerIndex();
+        state.lastRoundIndex = view.getLastRoundIndex();
+        state.lastRound = view.isLastRound();
+        state.discardPhaseStarted = view.isGameOver() || view.isDiscardPhase();
+        state.hash ^= Zobrist.deck(state.deckSize) ^ Zobrist.turn(state.currentPlayer)
+                ^ Zobrist.lastRound(state.lastRoundIndex);
+        return state;
+    }
+
+    /**
+     * Copies another state of the same number of players into this one without allocating.
+     *
+     * @param other the state to copy
+     */
+    public void copyFrom(CompactGameState other) {
+        System.arraycopy(other.parade, 0, parade, 0, other.paradeSize);
+        paradeSize = other.paradeSize;
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        System.arraycopy(other.handSizes, 0, handSizes, 0, numPlayers);
+        System.arraycopy(other.collectedCounts, 0, collectedCounts, 0, collectedCounts.length);
+        System.arraycopy(other.collectedValues, 0, collectedValues, 0, collectedValues.length);
+        System.arraycopy(other.collectedColourMasks, 0, collectedColourMasks, 0, numPlayers);
+        System.arraycopy(other.collectedTotals, 0, collectedTotals, 0, numPlayers);
+        System.arraycopy(other.deck, 0, deck, 0, other.deckSize + other.outOfPlay);
+        deckSize = other.deckSize;
+        deckIndex = other.deckIndex;
+        outOfPlay = other.outOfPlay;
+        currentPlayer = other.currentPlayer;
+        lastRoundIndex = other.lastRoundIndex;
+        lastRound = other.lastRound;
+        discardPhaseStarted = other.discardPhaseStarted;
+        hash = other.hash;
+    }
+
+    /**
+     * Redistributes the cards an observer cannot see, so that the state becomes one of the
+     * possible games consistent with what the observer knows.
+     * The cards in the other players' hands and the undrawn cards of the deck are shuffled together
+     * and dealt back, keeping every hand size and the number of cards left in the deck.
+     * For a state created by {@link #fromObservation(GameState, int)}, the unseen cards the other players
+     * may have discarded are part of the shuffle too, so every placement of the unseen cards is equally likely.
+     *
+     * @param observer the index of the player whose knowledge is kept
+     * @param random the random generator used to shuffle the hidden cards
+     */
+    public void determinize(int observer, RandomGenerator random) {
+        // Gather the undrawn cards, the other players' hands and then the cards out of play
+        int hidden = deckSize - deckIndex;
+        System.arraycopy(deck, deckIndex, scratch, 0, hidden);
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != observer) {
+                System.arraycopy(hands, p * handCapacity, scratch, hidden, handSizes[p]);
+                hidden += handSizes[p];
+                hashHand(p);
+            }
+        }
+        System.arraycopy(deck, deckSize, scratch, hidden, outOfPlay);
+        int unseen = hidden + outOfPlay;
+
+        // Only the hidden places need a random card, the cards left over stay out of play
+        for (int i = 0; i < hidden && i < unseen - 1; i++) {
+            int j = i + random.nextInt(unseen - i);
+            byte temp = scratch[i];
+            scratch[i] = scratch[j];
+            scratch[j] = temp;
+        }
+
+        // Deal the shuffled cards back into the deck and the hands
+        int next = deckSize - deckIndex;
+        System.arraycopy(scratch, 0, deck, deckIndex, next);
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != observer) {
+                System.arraycopy(scratch, next, hands, p * handCapacity, handSizes[p]);
+                next += handSizes[p];
+                hashHand(p);
+            }
+        }
+        System.arraycopy(scratch, hidden, deck, deckSize, outOfPlay);
+    }
+
+    /**
+     * Toggles the keys of every card in a player's hand in the hash.
+     *
+     * @param player the index of the player
+     */
+    private void hashHand(int player) {
+        for (int k = 0; k < handSizes[player]; k++) {
+            hash ^= Zobrist.hand(player, getHandCard(player, k));
+        }
+    }
+
+    /**
+     * Plays the card at the given index of the current player's hand and advances the turn.
+     * The card is added to the parade, the cards it releases are collected, the last round condition
+     * is checked and the player draws a new card if allowed.
+     *
+     * @param handIndex the index of the card in the current player's hand
+     * @return the number of cards collected by the player
+     */
+    public int play(int handIndex) {
+        int player = currentPlayer;
+        int handStart = player * handCapacity;
+        int id = hands[handStart + handIndex] & 0xFF;
+        hands[handStart + handIndex] = hands[handStart + --handSizes[player]];
+        hash ^= Zobrist.hand(player, id) ^ Zobrist.parade(paradeSize > 0 ? parade[paradeSize - 1] & 0xFF : -1, id);
+
+        int playedValue = Card.valueOf(id);
+        int playedColour = Card.colourOf(id);
+        parade[paradeSize++] = (byte) id;
+
+        int removedCount = 0;
+        if (paradeSize > playedValue) {
+            int candidates = paradeSize - 1 - playedValue;
+            int kept = 0;
+            for (int pos = 0; pos < candidates; pos++) {
+                int candidate = parade[pos] & 0xFF;
+                if (Card.colourOf(candidate) == playedColour || Card.valueOf(candidate) <= playedValue) {
+                    collect(player, candidate);
+                    removedCount++;
+                    int previous = kept > 0 ? parade[kept - 1] & 0xFF : -1;
+                    int next = parade[pos + 1] & 0xFF;
+                    hash ^= Zobrist.parade(previous, candidate) ^ Zobrist.parade(candidate, next)
+                            ^ Zobrist.parade(previous, next);
+                } else {
+                    parade[kept++] = (byte) candidate;
+                }
+            }
+            System.arraycopy(parade, candidates, parade, kept, paradeSize - candidates);
+            paradeSize -= removedCount;
+        }
+
+        // Check whether the last round starts, then draw if allowed
+        if (Integer.bitCount(collectedColourMasks[player]) >= COLOURS
+                || deckSize - deckIndex <= 1 || lastRoundIndex > 0) {
+            hash ^= Zobrist.lastRound(lastRoundIndex) ^ Zobrist.lastRound(lastRoundIndex + 1);
+            lastRoundIndex++;
+            lastRound = true;
+        }
+        if (!lastRound || (lastRoundIndex == 1 && deckIndex < deckSize)) {
+            int drawn = deck[deckIndex] & 0xFF;
+            hash ^= Zobrist.hand(player, drawn)
+                    ^ Zobrist.deck(deckSize - deckIndex) ^ Zobrist.deck(deckSize - deckIndex - 1);
+            hands[handStart + handSizes[player]++] = (byte) drawn;
+            deckIndex++;
+        }
+
+        nextTurn();
+        return removedCount;
+    }
+
+    /**
+     * Discards the cards at the two given indices of the current player's hand, collects the rest
+     * of the hand and advances the turn.
+     *
+     * @param first the index of the first card to discard
+     * @param second the index of the second card to discard
+     */
+    public void discard(int first, int second) {
+        int player = currentPlayer;
+        int handStart = player * handCapacity;
+        for (int k = 0; k < handSizes[player]; k++) {
+            int id = hands[handStart + k] & 0xFF;
+            hash ^= Zobrist.hand(player, id);
+            if (k != first && k != second) {
+                collect(player, id);
+            }
+        }
+        handSizes[player] = 0;
+        nextTurn();
+    }
+
+    /**
+     * Adds a card to a player's collected totals.
+     *
+     * @param player the index of the player
+     * @param id the id of the collected card
+     */
+    private void collect(int player, int id) {
+        int colour = Card.colourOf(id);
+        collectedCounts[player * COLOURS + colour]++;
+        collectedValues[player * COLOURS + colour] += Card.valueOf(id);
+        collectedColourMasks[player] |= 1 << colour;
+        collectedTotals[player]++;
+        hash ^= Zobrist.collected(player, id);
+    }
+
+    /**
+     * Moves to the next player and starts the discard phase once no more cards are to be played.
+     */
+    private void nextTurn() {
+        hash ^= Zobrist.turn(currentPlayer);
+        currentPlayer = (currentPlayer + 1) % numPlayers;
+        hash ^= Zobrist.turn(currentPlayer);
+        updateDiscardPhase();
+    }
+
+    /**
+     * Starts the discard phase if the game is over or the current player has reached the discard phase.
+     */
+    private void updateDiscardPhase() {
+        if (!discardPhaseStarted && (lastRoundIndex == numPlayers + 1 || isCurrentHandDiscardSize())) {
+            discardPhaseStarted = true;
+        }
+    }
+
+    /**
+     * Checks whether the current player holds the number of cards of the discard phase.
+     *
+     * @return {@code true} if the current player's hand size is that of the discard phase
+     */
+    private boolean isCurrentHandDiscardSize() {
+        return handSizes[currentPlayer] <= 4 && handSizes[currentPlayer] > 2;
+    }
+
+    /**
+     * Checks whether the current player has to discard rather than play.
+     *
+     * @return {@code true} if the game is in the discard phase, {@code false} otherwise
+     */
+    public boolean isDiscardPhase() {
+        return discardPhaseStarted && isCurrentHandDiscardSize();
+    }
+
+    /**
+     * Checks whether the game has ended, after every player has discarded.
+     *
+     * @return {@code true} if the game is over, {@code false} otherwise
+     */
+    public boolean isGameOver() {
+        return discardPhaseStarted && !isCurrentHandDiscardSize();
+    }
+
+    /**
+     * Calculates the score every player would have if the game ended now.
+     *
+     * @param scores the array receiving the score of each player
+     */
+    public void calculateScores(int[] scores) {
+        ScoreCalculator.calculateScores(collectedCounts, collectedValues, numPlayers, scores);
+    }
+
+    /**
+     * Determines the winner from the scores of all players, using the same tie-break as the game:
+     * the lowest score wins, then the fewest collected cards, then the earliest player in turn order.
+     *
+     * @param scores the score of each player
+     * @return the index of the winning player
+     */
+    public int getWinner(int[] scores) {
+        int winner = 0;
+        for (int p = 1; p < numPlayers; p++) {
+            if (scores[p] < scores[winner]
+                    || (scores[p] == scores[winner] && collectedTotals[p] < collectedTotals[winner])) {
+                winner = p;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position, as maintained move by move.
+     *
+     * @return the hash of the position
+     * @see Zobrist
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Gets the index of the player whose turn it is.
+     *
+     * @return the index of the current player
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Gets the number of cards in a player's hand.
+     *
+     * @param player the index of the player
+     * @return the number of cards in the player's hand
+     */
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    /**
+     * Gets the id of a card in a player's hand.
+     * The order of a hand changes as cards are played.
+     *
+     * @param player the index of the player
+     * @param handIndex the index of the card in the hand
+     * @return the id of the card
+     */
+    public int getHandCard(int player, int handIndex) {
+        return hands[player * handCapacity + handIndex] & 0xFF;
+    }
+
+    /**
+     * Finds the index of a card in a player's hand.
+     *
+     * @param player the index of the player
+     * @param id the id of the card
+     * @return the index of the card in the hand, or -1 if the player does not hold it
+     */
+    public int findInHand(int player, int id) {
+        int handStart = player * handCapacity;
+        for (int k = 0; k < handSizes[player]; k++) {
+            if ((hands[handStart + k] & 0xFF) == id) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of cards in the parade.
+     *
+     * @return the number of cards in the parade
+     */
+    public int getParadeSize() {
+        return paradeSize;
+    }
+
+    /**
+     * Gets the id of the card at a position in the parade.
+     *
+     * @param position the position in the parade, starting from the front
+     * @return the id of the card
+     */
+    public int getParadeCard(int position) {
+        return parade[position] & 0xFF;
+    }
+
+    /**
+     * Gets the total value of the cards that would be collected if a card were played.
+     *
+     * @param id the id of the card being played
+     * @return the sum of the values of the cards that would be collected
+     */
+    public int previewCollectedValue(int id) {
+        int playedValue = Card.valueOf(id);
+        int playedColour = Card.colourOf(id);
+        int total = 0;
+        for (int pos = 0; pos < paradeSize - playedValue; pos++) {
+            int candidate = parade[pos] & 0xFF;
+            int value = Card.valueOf(candidate);
+            if (Card.colourOf(candidate) == playedColour || value <= playedValue) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of cards a player has collected of a colour.
+     *
+     * @param player the index of the player
+     * @param colour the ordinal of the colour
+     * @return the number of collected cards of that colour
+     */
+    public int getCollectedCount(int player, int colour) {
+        return collectedCounts[player * COLOURS + colour];
+    }
+
+    /**
+     * Gets the total value of the cards a player has collected of a colour.
+     *
+     * @param player the index of the player
+     * @param colour the ordinal of the colour
+     * @return the sum of the values of the collected cards of that colour
+     */
+    public int getCollectedValue(int player, int colour) {
+        return collectedValues[player * COLOURS + colour];
+    }
+
+    /**
+     * Gets the per-colour collected counts of all players, indexed by {@code player * Card.COLOURS + colour}.
+     * The array is the state's own and must not be modified.
+     *
+     * @return the collected counts
+     */
+    public int[] getCollectedCounts() {
+        return collectedCounts;
+    }
+
+    /**
+     * Gets the per-colour collected value sums of all players, indexed by {@code player * Card.COLOURS + colour}.
+     * The array is the state's own and must not be modified.
+     *
+     * @return the collected value sums
+     */
+    public int[] getCollectedValues() {
+        return collectedValues;
+    }
+
+    /**
+     * Gets the total number of cards a player has collected.
+     *
+     * @param player the index of the player
+     * @return the number of collected cards
+     */
+    public int getCollectedTotal(int player) {
+        return collectedTotals[player];
+    }
+
+    /**
+     * Gets the number of cards left in the deck.
+     *
+     * @return the number of undrawn cards
+     */
+    public int getDeckSize() {
+        return deckSize - deckIndex;
+    }
+
+    /**
+     * Checks if the game is in the last round.
+     *
+     * @return {@code true} if the last round has started, {@code false} otherwise
+     */
+    public boolean isLastRound() {
+        return lastRound;
+    }
+
+    /**
+     * Gets the index of the last round.
+     *
+     * @return the number of turns taken since the last round was triggered
+     */
+    public int getLastRoundIndex() {
+        return lastRoundIndex;
+    }
+}
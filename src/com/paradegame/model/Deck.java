@@ -1,37 +1,108 @@
 package com.paradegame.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import com.paradegame.util.Config;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a deck of cards used in the Parade game.
  * The deck consists of cards of different colours and values,
  * which are shuffled upon initialisation.
+ * The shuffle uses the random generator given to the deck, so a deck created
+ * with the same seed always deals the cards in the same order.
+ *
+ * A lazy deck does not shuffle up front. Instead each draw performs the next step of the same
+ * Fisher-Yates shuffle, picking the card to draw from the cards not yet drawn, so a game that ends
+ * early or only deals a few cards never pays for shuffling the rest. As the steps are the same and
+ * happen in the same order, a lazy deck deals exactly the same cards as an eager deck with the same
+ * seed, as long as its generator is not used for anything else while the deck is in play.
  */
 public class Deck {
-    private final List<Card> cards;
+    private final Card[] cards = new Card[Card.DECK_SIZE];
+    private final boolean lazy;
+    private RandomGenerator random;
+    private int shuffled;
     private int index;
 
     /**
-     * Constructs a new deck of cards.
-     * The number of cards per colour is retrieved from the configuration.
-     * The deck is shuffled after creation.
+     * Constructs a new deck of cards shuffled with a randomly seeded generator.
      */
     public Deck() {
-        cards = new ArrayList<>();
-        int cardsPerColor = Config.getInt("cardsPerColor", 11);
+        this(new SplittableRandom());
+    }
 
-        for (Colour colour : Colour.values()) {
-            for (int value = 0; value < cardsPerColor; value++) {
-                cards.add(new Card(colour, value));
-            }
-        }
+    /**
+     * Constructs a new deck of cards shuffled with a generator created from the given seed.
+     * Decks created with the same seed deal the cards in the same order.
+     *
+     * @param seed the seed of the shuffle
+     */
+    public Deck(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructs a new deck of cards shuffled with the given random generator.
+     * The deck holds the shared card of every id, so no cards are created.
+     * The generator is only used while the deck is being shuffled, so a per-thread
+     * generator can be reused for many decks without any contention between threads.
+     *
+     * @param random the random generator used to shuffle the deck
+     */
+    public Deck(RandomGenerator random) {
+        this(random, false);
+    }
 
-        Collections.shuffle(cards);
+    /**
+     * Constructs a new deck of cards shuffled with the given random generator, either up front
+     * or lazily as the cards are drawn. A lazy deck keeps using the generator until its last card
+     * is drawn, so the generator should not be shared while the deck is in play.
+     *
+     * @param random the random generator used to shuffle the deck
+     * @param lazy {@code true} to shuffle one card per draw, {@code false} to shuffle the whole deck now
+     */
+    public Deck(RandomGenerator random, boolean lazy) {
+        this.lazy = lazy;
+        reset(random);
+    }
+
+    /**
+     * Puts every card back into the deck and shuffles it again with the given random generator,
+     * reusing the deck's cards for the next game. The cards are put back in order of id first,
+     * so a deck reset with a given seed deals the same cards as a new deck with that seed.
+     *
+     * @param random the random generator used to shuffle the deck
+     */
+    public void reset(RandomGenerator random) {
+        for (int id = 0; id < cards.length; id++) {
+            cards[id] = Card.of(id);
+        }
         index = 0;
+        shuffled = 0;
+        if (lazy) {
+            this.random = random;
+        } else {
+            this.random = null;
+            shuffleTo(random, cards.length);
+        }
+    }
+
+    /**
+     * Continues the Fisher-Yates shuffle up to a position, moving a randomly chosen
+     * remaining card into each position from the top of the deck down.
+     *
+     * @param random the random generator used to pick the cards
+     * @param end the number of positions from the top of the deck that must be shuffled
+     */
+    private void shuffleTo(RandomGenerator random, int end) {
+        // The last position is left with the only remaining card, so it needs no random pick
+        int last = Math.min(end, cards.length - 1);
+        for (int i = shuffled; i < last; i++) {
+            int j = i + random.nextInt(cards.length - i);
+            Card temp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = temp;
+        }
+        shuffled = Math.max(shuffled, end);
     }
 
     /**
@@ -40,10 +111,28 @@ public class Deck {
      * @return The next card in the deck, or {@code null} if the deck is empty.
      */
     public Card draw() {
-        if (index >= cards.size()){
+        if (index >= cards.length){
             return null;
         }
-        return cards.get(index++);
+        if (index >= shuffled) {
+            shuffleTo(random, index + 1);
+        }
+        return cards[index++];
+    }
+
+    /**
+     * Gets a card from the deck without drawing it.
+     * This reveals the order of the deck, so it is only meant for copying the game state.
+     * A lazy deck shuffles up to the card first, so it is still drawn in the same order.
+     *
+     * @param offset the number of draws before the card would be drawn, starting from 0 for the next card
+     * @return the card that would be drawn after that many draws
+     */
+    public Card peek(int offset) {
+        if (index + offset >= shuffled) {
+            shuffleTo(random, index + offset + 1);
+        }
+        return cards[index + offset];
     }
 
     /**
@@ -52,7 +141,7 @@ public class Deck {
      * @return {@code true} if there are no more cards left to draw, {@code false} otherwise.
      */
     public boolean isEmpty() {
-        return index >= cards.size();
+        return index >= cards.length;
     }
 
     /**
@@ -70,6 +159,6 @@ public class Deck {
      * @return The number of cards left in the deck.
      */
     public int size() {
-        return cards.size() - index;
+        return cards.length - index;
     }
 }
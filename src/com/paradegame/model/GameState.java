@@ -1,20 +1,26 @@
 package com.paradegame.model;
 
-import java.util.EnumMap;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import com.paradegame.util.Config;
 
 /**
  * Represents the state of the Parade game.
+ * Each player can be given a read-only {@link GameView} of the game through {@link #getView(int)}.
  */
 public class GameState {
     private final List<Player> players;
     private final Deck deck;
     private final Parade parade;
+    private final PlayerView[] views;
     private int currentPlayerIndex;
     private int lastRoundIndex = 0;
     private boolean lastRound;
@@ -26,9 +32,43 @@ public class GameState {
      * @param players The list of players participating in the game.
      */
     public GameState(List<Player> players) {
+        this(players, new Deck(new SplittableRandom(), true));
+    }
+
+    /**
+     * Constructs a new game state with the given players, shuffling the deck with the given seed.
+     * Games created with the same seed and players start from exactly the same position.
+     * The deck has a generator of its own, so it is shuffled lazily as the cards are drawn.
+     *
+     * @param players The list of players participating in the game.
+     * @param seed The seed used to shuffle the deck.
+     */
+    public GameState(List<Player> players, long seed) {
+        this(players, new Deck(new SplittableRandom(seed), true));
+    }
+
+    /**
+     * Constructs a new game state with the given players, shuffling the deck with the given random generator.
+     * The whole deck is shuffled up front, so the generator can be shared with other games.
+     *
+     * @param players The list of players participating in the game.
+     * @param random The random generator used to shuffle the deck.
+     */
+    public GameState(List<Player> players, RandomGenerator random) {
+        this(players, new Deck(random));
+    }
+
+    /**
+     * Constructs a new game state with the given players and deck.
+     *
+     * @param players The list of players participating in the game.
+     * @param deck The deck the parade and hands are dealt from.
+     */
+    private GameState(List<Player> players, Deck deck) {
         this.players = players;
-        this.deck = new Deck();
+        this.deck = deck;
         this.parade = new Parade();
+        this.views = new PlayerView[players.size()];
         initialiseParade();
         dealInitialHands();
         this.currentPlayerIndex = 0;
@@ -78,8 +118,8 @@ public class GameState {
      * Increments the lastRoundIndex and sets the lastRound flag if the conditions are met.
      */
     public void checkLastRound() {
-        if (players.get(currentPlayerIndex).getCollected().stream().map(Card::getColour).collect(Collectors.toSet())
-                .size() >= 6 || deck.size() <= 1 || lastRoundIndex > 0) {
+        if (Integer.bitCount(players.get(currentPlayerIndex).getCollectedColourMask()) >= Card.COLOURS
+                || deck.size() <= 1 || lastRoundIndex > 0) {
             lastRoundIndex++;
             lastRound = true;
         }
@@ -132,75 +172,40 @@ public class GameState {
      * Players with the majority in a colour flip those cards, making each worth 1 point.
      * In a 2-player game, a majority requires at least a 2-card lead.
      * Scores are the sum of all collected card values.
+     * The cards themselves are not changed; the flipped colours are recorded in the result.
+     * The scoring rules are applied by the {@link ScoreCalculator}.
      *
-     * @return A map of players and their corresponding scores.
-     */
-    public Map<Player, Integer> calculateScores() {
-        Map<Player, Integer> scores = new HashMap<>();
-        Map<Colour, Map<Player, Integer>> colourCounts = new EnumMap<>(Colour.class);
-
-        // For each colour, count number of cards that each player has
-        for (Colour colour : Colour.values()) {
-            colourCounts.put(colour, new HashMap<>());
-            for (Player player : players) {
-                long count = player.getCollected().stream()
-                        .filter(card -> card.getColour() == colour)
-                        .count();
-                colourCounts.get(colour).put(player, (int) count);
+     * @return The scores of all players, in turn order, and the colours each player flipped.
+     */
+    public ScoreResult calculateScores() {
+        int numPlayers = players.size();
+        int[] counts = new int[numPlayers * Card.COLOURS];
+        int[] values = new int[numPlayers * Card.COLOURS];
+        for (int p = 0; p < numPlayers; p++) {
+            Player player = players.get(p);
+            for (int c = 0; c < Card.COLOURS; c++) {
+                counts[p * Card.COLOURS + c] = player.getCollectedCount(c);
+                values[p * Card.COLOURS + c] = player.getCollectedValue(c);
             }
         }
 
-        // Flip cards for player with greatest number of each colour
-        if (players.size() > 2) {
-            // Regular rules
-            for (Colour colour : Colour.values()) {
-                Map<Player, Integer> counts = colourCounts.get(colour);
-                int max = counts.values().stream().max(Integer::compare).orElse(0);
-                for (Player player : players) {
-                    int count = counts.get(player);
-                    if (count == max) {
-                        // Set all cards of this colour's values' to 1
-                        for (Card card : player.getCollected()) {
-                            if (card.getColour() == colour) {
-                                card.setValue(1);
-                                card.setFlipped(true);
-                            }
-                        }
-                    }
-                }
-            }
-        } else {
-            // 2 player rules
+        int[] totals = new int[numPlayers];
+        ScoreCalculator.calculateScores(counts, values, numPlayers, totals);
+
+        Map<Player, Integer> scores = new LinkedHashMap<>();
+        Map<Player, Set<Colour>> flippedColours = new HashMap<>();
+        for (int p = 0; p < numPlayers; p++) {
+            int flipped = ScoreCalculator.flippedColours(counts, numPlayers, p);
+            Set<Colour> colours = EnumSet.noneOf(Colour.class);
             for (Colour colour : Colour.values()) {
-                Map<Player, Integer> counts = colourCounts.get(colour);
-                Player p1 = players.get(0);
-                Player p2 = players.get(1);
-                if (counts.get(p1) - counts.get(p2) > 1) {
-                    for (Card card : p1.getCollected()) {
-                        ;
-                        if (card.getColour() == colour) {
-                            card.setValue(1);
-                            card.setFlipped(true);
-                        }
-                    }
-                } else if (counts.get(p2) - counts.get(p1) > 1) {
-                    for (Card card : p2.getCollected()) {
-                        if (card.getColour() == colour) {
-                            card.setValue(1);
-                            card.setFlipped(true);
-                        }
-                    }
+                if ((flipped >>> colour.ordinal() & 1) != 0) {
+                    colours.add(colour);
                 }
             }
+            scores.put(players.get(p), totals[p]);
+            flippedColours.put(players.get(p), colours);
         }
-
-        for (Player p : players) {
-            int sum = p.getCollected().stream()
-                    .mapToInt(Card::getValue)
-                    .sum();
-            scores.put(p, scores.getOrDefault(p, 0) + sum);
-        }
-        return scores;
+        return new ScoreResult(scores, flippedColours);
     }
 
     /**
@@ -221,6 +226,15 @@ public class GameState {
         return players.get(currentPlayerIndex);
     }
 
+    /**
+     * Gets the index of the current player in the list of players.
+     *
+     * @return The index of the current player.
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
     /**
      * Gets the deck of cards in the game.
      *
@@ -238,4 +252,141 @@ public class GameState {
     public Parade getParade() {
         return parade;
     }
+
+    /**
+     * Gets the read-only view of the game as seen by a player.
+     * The view is created once per player and always shows the current position.
+     *
+     * @param player The index of the player.
+     * @return The player's view of the game.
+     */
+    public GameView getView(int player) {
+        if (views[player] == null) {
+            views[player] = new PlayerView(player);
+        }
+        return views[player];
+    }
+
+    /**
+     * A player's view of the game, reading the parade, players and deck of this game state directly.
+     */
+    private class PlayerView implements GameView {
+        private final int player;
+        private final List<Card> hand;
+
+        PlayerView(int player) {
+            this.player = player;
+            this.hand = Collections.unmodifiableList(players.get(player).getHand());
+        }
+
+        @Override
+        public int getNumPlayers() {
+            return players.size();
+        }
+
+        @Override
+        public int getPlayerIndex() {
+            return player;
+        }
+
+        @Override
+        public int getCurrentPlayerIndex() {
+            return currentPlayerIndex;
+        }
+
+        @Override
+        public List<Card> getParade() {
+            return parade.getCards();
+        }
+
+        @Override
+        public int getParadeSize() {
+            return parade.size();
+        }
+
+        @Override
+        public int getParadeCard(int position) {
+            return parade.getCardId(position);
+        }
+
+        @Override
+        public long getParadeHash() {
+            return parade.getHash();
+        }
+
+        @Override
+        public int previewCollectedCount(Card playedCard) {
+            return parade.previewCollectedCount(playedCard);
+        }
+
+        @Override
+        public int previewCollectedValue(Card playedCard) {
+            return parade.previewCollectedValue(playedCard);
+        }
+
+        @Override
+        public ParadePreview previewHand(ParadePreview preview) {
+            return parade.previewAll(hand, preview);
+        }
+
+        @Override
+        public List<Card> getHand() {
+            return hand;
+        }
+
+        @Override
+        public int getHandSize(int other) {
+            return players.get(other).getHand().size();
+        }
+
+        @Override
+        public List<Card> getCollected(int other) {
+            return players.get(other).getCollected();
+        }
+
+        @Override
+        public int getCollectedCount(int other, int colour) {
+            return players.get(other).getCollectedCount(colour);
+        }
+
+        @Override
+        public int getCollectedValue(int other, int colour) {
+            return players.get(other).getCollectedValue(colour);
+        }
+
+        @Override
+        public int getCollectedColourMask(int other) {
+            return players.get(other).getCollectedColourMask();
+        }
+
+        @Override
+        public int getCollectedTotal(int other) {
+            return players.get(other).getCollected().size();
+        }
+
+        @Override
+        public int getDeckSize() {
+            return deck.size();
+        }
+
+        @Override
+        public boolean isLastRound() {
+            return lastRound;
+        }
+
+        @Override
+        public int getLastRoundIndex() {
+            return lastRoundIndex;
+        }
+
+        @Override
+        public boolean isDiscardPhase() {
+            return GameState.this.isDiscardPhase();
+        }
+
+        @Override
+        public boolean isGameOver() {
+            return GameState.this.isGameOver();
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package com.paradegame.model;
+
+import java.util.List;
+
+/**
+ * A read-only view of a game as seen by one of its players, as given to AI players when they choose a move.
+ *
+ * The view shows everything the player is allowed to know: the parade, the player's own hand, every
+ * player's collected cards and totals, the number of cards in each hand and in the deck, and the stage
+ * of the game. The other players' hands and the order of the deck are not shown. A view reads the game
+ * it belongs to directly, so it always shows the current position without copying anything, and every
+ * list it returns is unmodifiable, so the game cannot be changed through it.
+ */
+public interface GameView {
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return the number of players
+     */
+    int getNumPlayers();
+
+    /**
+     * Gets the index of the player this view belongs to.
+     *
+     * @return the index of the viewing player
+     */
+    int getPlayerIndex();
+
+    /**
+     * Gets the index of the player whose turn it is.
+     *
+     * @return the index of the current player
+     */
+    int getCurrentPlayerIndex();
+
+    /**
+     * Gets the cards in the parade, from the front.
+     *
+     * @return a read-only list of the cards in the parade
+     */
+    List<Card> getParade();
+
+    /**
+     * Gets the number of cards in the parade.
+     *
+     * @return the number of cards in the parade
+     */
+    int getParadeSize();
+
+    /**
+     * Gets the id of the card at a position in the parade.
+     *
+     * @param position the position in the parade, starting from the front
+     * @return the id of the card at that position
+     */
+    int getParadeCard(int position);
+
+    /**
+     * Gets the Zobrist hash of the order of the cards in the parade.
+     *
+     * @return the hash of the parade
+     * @see Parade#getHash()
+     */
+    long getParadeHash();
+
+    /**
+     * Previews how many cards would be collected if a card were played.
+     *
+     * @param playedCard the card being played
+     * @return the number of cards that would be collected
+     */
+    int previewCollectedCount(Card playedCard);
+
+    /**
+     * Previews the total value of the cards that would be collected if a card were played.
+     *
+     * @param playedCard the card being played
+     * @return the sum of the values of the cards that would be collected
+     */
+    int previewCollectedValue(Card playedCard);
+
+    /**
+     * Previews what every card of the viewing player's hand would collect if it were played,
+     * in a single call.
+     *
+     * @param preview the preview receiving the collected totals of each card, in hand order
+     * @return the given preview
+     * @see Parade#previewAll(List, ParadePreview)
+     */
+    ParadePreview previewHand(ParadePreview preview);
+
+    /**
+     * Gets the viewing player's hand.
+     *
+     * @return a read-only list of the cards in the viewing player's hand
+     */
+    List<Card> getHand();
+
+    /**
+     * Gets the number of cards in a player's hand.
+     *
+     * @param player the index of the player
+     * @return the number of cards in the player's hand
+     */
+    int getHandSize(int player);
+
+    /**
+     * Gets the cards a player has collected.
+     *
+     * @param player the index of the player
+     * @return a read-only list of the player's collected cards
+     */
+    List<Card> getCollected(int player);
+
+    /**
+     * Gets the number of collected cards of a colour.
+     *
+     * @param player the index of the player
+     * @param colour the ordinal of the colour
+     * @return the number of cards of that colour the player has collected
+     */
+    int getCollectedCount(int player, int colour);
+
+    /**
+     * Gets the total value of the collected cards of a colour.
+     *
+     * @param player the index of the player
+     * @param colour the ordinal of the colour
+     * @return the sum of the values of the cards of that colour the player has collected
+     */
+    int getCollectedValue(int player, int colour);
+
+    /**
+     * Gets a bitmask of the colours a player has collected at least one card of.
+     *
+     * @param player the index of the player
+     * @return the bitmask of collected colours
+     */
+    int getCollectedColourMask(int player);
+
+    /**
+     * Gets the total number of cards a player has collected.
+     *
+     * @param player the index of the player
+     * @return the number of collected cards
+     */
+    int getCollectedTotal(int player);
+
+    /**
+     * Gets the number of cards left in the deck.
+     *
+     * @return the number of undrawn cards
+     */
+    int getDeckSize();
+
+    /**
+     * Checks if the game is in the last round.
+     *
+     * @return {@code true} if the last round has started, {@code false} otherwise
+     */
+    boolean isLastRound();
+
+    /**
+     * Gets the index of the last round.
+     *
+     * @return the number of turns taken since the last round was triggered
+     */
+    int getLastRoundIndex();
+
+    /**
+     * Checks if the current player is in the discard phase.
+     *
+     * @return {@code true} if the current player has to discard, {@code false} otherwise
+     */
+    boolean isDiscardPhase();
+
+    /**
+     * Checks if every player has taken their turn in the last round.
+     *
+     * @return {@code true} if no more cards are to be played, {@code false} otherwise
+     */
+    boolean isGameOver();
+}
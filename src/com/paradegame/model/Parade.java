@@ -1,5 +1,6 @@
 package com.paradegame.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,15 +8,22 @@ import java.util.List;
  * Represents the parade in the Parade game.
  * Players add a card to the end of the parade each turn.
  * Cards in the parade might be collected based on game rules when a new card is added.
+ *
+ * The parade stores the ids of its cards in a fixed byte array, read as unsigned values
+ * so that decks of up to 256 cards are supported. Playing a card compacts the array in place
+ * and does not allocate.
  */
 public class Parade {
-    private List<Card> cards;
+    private final byte[] cards;
+    private int size;
+    private long hash;
+    private final List<Card> cardsView = new CardsView();
 
     /**
      * Constructs a new empty Parade.
      */
     public Parade() {
-        this.cards = new ArrayList<>();
+        this.cards = new byte[Card.DECK_SIZE];
     }
 
      /**
@@ -24,62 +32,221 @@ public class Parade {
      * @param card the card to be added
      */
     public void addCard(Card card) {
-        cards.add(card);
+        hash ^= Zobrist.parade(size > 0 ? cards[size - 1] & 0xFF : -1, card.getId());
+        cards[size++] = (byte) card.getId();
     }
 
     /**
      * Determines which cards must be removed from the parade when a card is played.
-     * This modifies the parade by removing certain cards that 
+     * This modifies the parade by removing certain cards that
      * share the same colour as the played card or have a value less than or equal to it.
      *
      * @param playedCard the card being played
      * @return the list of cards that are removed from the parade as a result of playing this card
      */
     public List<Card> handleCardPlayed(Card playedCard) {
-        List<Card> originalParadeCards = cards;
-        int originalSize = cards.size();
+        byte[] removed = new byte[size];
+        int removedCount = handleCardPlayed(playedCard, removed);
+
+        List<Card> removedCards = new ArrayList<>(removedCount);
+        for (int i = 0; i < removedCount; i++) {
+            removedCards.add(Card.of(removed[i] & 0xFF));
+        }
+        return removedCards;
+    }
+
+    /**
+     * Removes the cards released by a played card from the parade without allocating.
+     * The remaining cards are compacted in place, keeping their order,
+     * and the ids of the removed cards are written to the given buffer in parade order.
+     *
+     * @param playedCard the card being played, which must already be at the end of the parade
+     * @param removed the buffer receiving the ids of the removed cards, at least {@link #size()} long
+     * @return the number of cards removed from the parade
+     */
+    public int handleCardPlayed(Card playedCard, byte[] removed) {
         int playedValue = playedCard.getValue();
+        int playedColour = playedCard.getColour().ordinal();
+        if (size <= playedValue) {
+            return 0;
+        }
 
-        List<Card> remaining = new ArrayList<>();
-        List<Card> removed = new ArrayList<>();
-
-        if (originalSize > playedValue || (playedValue == 0 && originalSize > 0)) {
-            for (int pos = 0; pos < originalSize; pos++) {
-                if (pos < originalSize - 1 - playedValue) {
-                    Card candidate = originalParadeCards.get(pos);
-                    if (candidate.getColour() == playedCard.getColour()
-                            || candidate.getValue() <= playedCard.getValue()) {
-                        removed.add(candidate);
-                    } else {
-                        remaining.add(candidate);
-                    }
-                } else {
-                    remaining.add(originalParadeCards.get(pos));
-                }
+        // Only the cards in front of the last playedValue + 1 cards can be removed
+        int candidates = size - 1 - playedValue;
+        int removedCount = 0;
+        int kept = 0;
+        for (int pos = 0; pos < candidates; pos++) {
+            int id = cards[pos] & 0xFF;
+            if (Card.colourOf(id) == playedColour || Card.valueOf(id) <= playedValue) {
+                removed[removedCount++] = (byte) id;
+
+                // The card behind is still unmoved, as kept cards are only written at or before pos
+                int previous = kept > 0 ? cards[kept - 1] & 0xFF : -1;
+                int next = cards[pos + 1] & 0xFF;
+                hash ^= Zobrist.parade(previous, id) ^ Zobrist.parade(id, next) ^ Zobrist.parade(previous, next);
+            } else {
+                cards[kept++] = (byte) id;
             }
-        } else {
-            remaining.addAll(originalParadeCards);
         }
 
-        // Recreate parade
-        cards.clear();
-        cards.addAll(remaining);
-
-        return removed;
+        // Shift the protected cards down over the gap
+        System.arraycopy(cards, candidates, cards, kept, size - candidates);
+        size -= removedCount;
+        return removedCount;
     }
 
     /**
      * Simulates playing a card in the parade without modifying the original parade.
-     * Creates a temporary parade to determine which cards would be collected.
+     * The parade is scanned as if the card had been added to its end.
      *
      * @param playedCard the card being played
      * @return the list of cards that would be collected if the card were played
      */
     public List<Card> simulateCollectedCards(Card playedCard) {
-        Parade tempParade = new Parade();
-        tempParade.getCards().addAll(this.getCards()); // Copy the parade state
-        tempParade.addCard(playedCard);                // Simulate the played card
-        return tempParade.handleCardPlayed(playedCard); // Simulate the collection logic
+        List<Card> collected = new ArrayList<>();
+        int playedValue = playedCard.getValue();
+        int playedColour = playedCard.getColour().ordinal();
+
+        // With the played card added, the parade would have size + 1 cards
+        for (int pos = 0; pos < size - playedValue; pos++) {
+            int id = cards[pos] & 0xFF;
+            if (Card.colourOf(id) == playedColour || Card.valueOf(id) <= playedValue) {
+                collected.add(Card.of(id));
+            }
+        }
+        return collected;
+    }
+
+    /**
+     * Previews which cards would be collected if a card were played, without copying or modifying the parade.
+     * Bit {@code i} of the result is set if the card at position {@code i} would be collected.
+     * Only the first 64 positions of the parade can be represented; with the default deck the parade
+     * can never hold that many cards in front of a played card.
+     *
+     * @param playedCard the card being played
+     * @return a bitmask over parade positions of the cards that would be collected
+     * @throws IllegalStateException if more than 64 positions could be collected
+     */
+    public long previewCollectedMask(Card playedCard) {
+        int playedValue = playedCard.getValue();
+        int playedColour = playedCard.getColour().ordinal();
+        int candidates = size - playedValue;
+        if (candidates > Long.SIZE) {
+            throw new IllegalStateException("Parade too long for a 64-bit preview: " + candidates);
+        }
+
+        long mask = 0;
+        for (int pos = 0; pos < candidates; pos++) {
+            int id = cards[pos] & 0xFF;
+            if (Card.colourOf(id) == playedColour || Card.valueOf(id) <= playedValue) {
+                mask |= 1L << pos;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Previews how many cards would be collected if a card were played, without copying or modifying the parade.
+     *
+     * @param playedCard the card being played
+     * @return the number of cards that would be collected
+     */
+    public int previewCollectedCount(Card playedCard) {
+        int playedValue = playedCard.getValue();
+        int playedColour = playedCard.getColour().ordinal();
+
+        int count = 0;
+        for (int pos = 0; pos < size - playedValue; pos++) {
+            int id = cards[pos] & 0xFF;
+            if (Card.colourOf(id) == playedColour || Card.valueOf(id) <= playedValue) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Previews the total value of the cards that would be collected if a card were played,
+     * without copying or modifying the parade.
+     *
+     * @param playedCard the card being played
+     * @return the sum of the values of the cards that would be collected
+     */
+    public int previewCollectedValue(Card playedCard) {
+        int playedValue = playedCard.getValue();
+        int playedColour = playedCard.getColour().ordinal();
+
+        int total = 0;
+        for (int pos = 0; pos < size - playedValue; pos++) {
+            int id = cards[pos] & 0xFF;
+            int value = Card.valueOf(id);
+            if (Card.colourOf(id) == playedColour || value <= playedValue) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Previews what every card of a hand would collect if it were played, in a single call,
+     * without copying or modifying the parade. Whether a parade card is collected is added as 0 or 1
+     * rather than branched on, so the cost does not depend on how predictable the parade is.
+     * The collected counts, values and parade positions of every card are worked out together,
+     * and the colour totals are then read from the positions on request.
+     *
+     * The positions, and so the colour totals, are only available if no card could collect beyond
+     * the first 64 positions, as with {@link #previewCollectedMask(Card)}. The preview describes
+     * the parade as it is now and must not be read after the parade changes.
+     *
+     * @param hand the cards that could be played
+     * @param preview the preview receiving the collected totals of each card
+     * @return the given preview
+     */
+    public ParadePreview previewAll(List<Card> hand, ParadePreview preview) {
+        int handSize = hand.size();
+        preview.reset(this, handSize);
+        boolean masksComplete = true;
+
+        for (int k = 0; k < handSize; k++) {
+            int played = hand.get(k).getId();
+            int playedColour = Card.colourOf(played);
+            int playedValue = Card.valueOf(played);
+            int candidates = size - playedValue;
+            masksComplete &= candidates <= Long.SIZE;
+
+            int count = 0;
+            int total = 0;
+            long mask = 0;
+            for (int pos = 0; pos < candidates; pos++) {
+                int id = cards[pos] & 0xFF;
+                int value = Card.valueOf(id);
+
+                // 1 if the card is collected, worked out without a branch as the outcome is unpredictable
+                int taken = (Card.colourOf(id) ^ playedColour) - 1 >>> 31 | (playedValue - value >>> 31 ^ 1);
+                count += taken;
+                total += value & -taken;
+                mask |= (long) taken << pos;
+            }
+            preview.counts[k] = count;
+            preview.values[k] = total;
+            preview.masks[k] = mask;
+        }
+        preview.masksComplete = masksComplete;
+        return preview;
+    }
+
+    /**
+     * Gets the cards at the positions set in a bitmask, such as one returned by {@link #previewCollectedMask(Card)}.
+     *
+     * @param mask a bitmask over parade positions
+     * @return the list of cards at those positions, in parade order
+     */
+    public List<Card> getCards(long mask) {
+        List<Card> selected = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            selected.add(Card.of(cards[Long.numberOfTrailingZeros(bits)] & 0xFF));
+        }
+        return selected;
     }
 
     /**
@@ -88,16 +255,38 @@ public class Parade {
      * @return the number of cards in the parade
      */
     public int size() {
-        return cards.size();
+        return size;
+    }
+
+    /**
+     * Gets the Zobrist hash of the order of the cards in the parade, which is kept up to date as cards
+     * are added and removed. Two parades holding the same cards in the same order have the same hash.
+     *
+     * @return the hash of the parade
+     * @see Zobrist#parade(int, int)
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the id of the card at a position in the parade.
+     *
+     * @param position the position in the parade, starting from the front
+     * @return the id of the card at that position
+     */
+    public int getCardId(int position) {
+        return cards[position] & 0xFF;
     }
 
     /**
      * Gets the list of cards currently in the parade.
+     * The list is a read-only view that reflects later changes to the parade.
      *
      * @return the list of cards in the parade
      */
     public List<Card> getCards() {
-        return cards;
+        return cardsView;
     }
 
     /**
@@ -107,6 +296,24 @@ public class Parade {
      */
     @Override
     public String toString() {
-        return cards.toString();
+        return cardsView.toString();
+    }
+
+    /**
+     * A read-only list view over the card ids of the parade.
+     */
+    private class CardsView extends AbstractList<Card> {
+        @Override
+        public Card get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return Card.of(cards[index] & 0xFF);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.paradegame.model;
+
+/**
+ * Holds what every card of a hand would collect from the parade, as filled in by
+ * {@link Parade#previewAll(java.util.List, ParadePreview)}.
+ *
+ * For each card, in hand order, the preview gives the number and total value of the cards
+ * that would be collected, the same broken down by colour, and the parade positions of those cards.
+ * The totals are kept in primitive arrays that grow with the largest hand seen, so a preview can be
+ * reused for every decision without allocating. A preview is overwritten by the next call that fills it,
+ * and only describes the parade until the parade changes.
+ */
+public class ParadePreview {
+    int[] counts = new int[8];
+    int[] values = new int[8];
+    long[] masks = new long[8];
+    boolean masksComplete;
+    private Parade parade;
+    private int size;
+
+    /**
+     * Prepares the preview for a hand, growing the arrays if needed.
+     *
+     * @param parade the parade being previewed
+     * @param handSize the number of cards in the hand
+     */
+    void reset(Parade parade, int handSize) {
+        if (counts.length < handSize) {
+            counts = new int[handSize];
+            values = new int[handSize];
+            masks = new long[handSize];
+        }
+        this.parade = parade;
+        this.size = handSize;
+    }
+
+    /**
+     * Gets the number of cards of the hand in the preview.
+     *
+     * @return the number of cards previewed
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets how many cards would be collected if a card were played.
+     *
+     * @param card the index of the card in the hand
+     * @return the number of cards that would be collected
+     */
+    public int getCount(int card) {
+        return counts[card];
+    }
+
+    /**
+     * Gets the total value of the cards that would be collected if a card were played.
+     *
+     * @param card the index of the card in the hand
+     * @return the sum of the values of the cards that would be collected
+     */
+    public int getValue(int card) {
+        return values[card];
+    }
+
+    /**
+     * Gets how many cards of a colour would be collected if a card were played.
+     *
+     * @param card the index of the card in the hand
+     * @param colour the ordinal of the colour
+     * @return the number of cards of that colour that would be collected
+     * @throws IllegalStateException if the parade was too long for 64-bit masks when the preview was made
+     */
+    public int getColourCount(int card, int colour) {
+        int count = 0;
+        for (long bits = getMask(card); bits != 0; bits &= bits - 1) {
+            if (Card.colourOf(parade.getCardId(Long.numberOfTrailingZeros(bits))) == colour) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total value of the cards of a colour that would be collected if a card were played.
+     *
+     * @param card the index of the card in the hand
+     * @param colour the ordinal of the colour
+     * @return the sum of the values of the cards of that colour that would be collected
+     * @throws IllegalStateException if the parade was too long for 64-bit masks when the preview was made
+     */
+    public int getColourValue(int card, int colour) {
+        int total = 0;
+        for (long bits = getMask(card); bits != 0; bits &= bits - 1) {
+            int id = parade.getCardId(Long.numberOfTrailingZeros(bits));
+            if (Card.colourOf(id) == colour) {
+                total += Card.valueOf(id);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether the preview has the parade positions of the cards every card would collect.
+     * They are missing if the parade was too long for 64-bit masks when the preview was made,
+     * in which case {@link Parade#simulateCollectedCards(Card)} gives the collected cards instead.
+     *
+     * @return {@code true} if {@link #getMask(int)} and the colour totals can be read for every card
+     */
+    public boolean hasMasks() {
+        return masksComplete;
+    }
+
+    /**
+     * Gets the parade positions of the cards that would be collected if a card were played,
+     * as a bitmask that can be passed to {@link Parade#getCards(long)}.
+     *
+     * @param card the index of the card in the hand
+     * @return a bitmask over parade positions of the cards that would be collected
+     * @throws IllegalStateException if the parade was too long for 64-bit masks when the preview was made
+     */
+    public long getMask(int card) {
+        if (!masksComplete) {
+            throw new IllegalStateException("Parade too long for a 64-bit preview");
+        }
+        return masks[card];
+    }
+}
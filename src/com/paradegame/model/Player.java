@@ -1,18 +1,26 @@
 package com.paradegame.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents a player in the Parade game.
  * A player has an id, a name, a hand of cards they can play,
  * and a collection of cards they have collected throughout the game.
+ *
+ * The number of collected cards and their total value are kept per colour as cards are collected,
+ * together with a bitmask of the colours collected so far, so that these can be read in constant time.
  */
 public class Player {
     private int id;
     private String name;
     private final List<Card> hand = new ArrayList<>();
     private final List<Card> collected = new ArrayList<>();
+    private final List<Card> collectedView = Collections.unmodifiableList(collected);
+    private final int[] collectedCounts = new int[Card.COLOURS];
+    private final int[] collectedValues = new int[Card.COLOURS];
+    private int collectedColourMask;
 
     /**
      * Constructs a new Player with the specified id and name.
@@ -58,16 +66,62 @@ public class Player {
      * @param cards the list of cards to be added to the collected pile
      */
     public void addCollected(List<Card> cards) {
-        collected.addAll(cards);
+        for (Card card : cards) {
+            addCollected(card);
+        }
+    }
+
+    /**
+     * Adds a single card to the player's collected pile and updates the per-colour totals.
+     *
+     * @param card the card to be added to the collected pile
+     */
+    public void addCollected(Card card) {
+        int colour = card.getColour().ordinal();
+        collected.add(card);
+        collectedCounts[colour]++;
+        collectedValues[colour] += card.getValue();
+        collectedColourMask |= 1 << colour;
     }
 
     /**
      * Gets the list of cards the player has collected.
+     * The list is read-only; cards are collected through {@link #addCollected(Card)}.
      *
      * @return the list of collected cards
      */
     public List<Card> getCollected() {
-        return collected;
+        return collectedView;
+    }
+
+    /**
+     * Gets the number of collected cards of a colour.
+     *
+     * @param colour the ordinal of the colour
+     * @return the number of collected cards of that colour
+     */
+    public int getCollectedCount(int colour) {
+        return collectedCounts[colour];
+    }
+
+    /**
+     * Gets the total value of the collected cards of a colour.
+     *
+     * @param colour the ordinal of the colour
+     * @return the sum of the values of the collected cards of that colour
+     */
+    public int getCollectedValue(int colour) {
+        return collectedValues[colour];
+    }
+
+    /**
+     * Gets a bitmask of the colours the player has collected at least one card of.
+     * Bit {@code i} is set if a card of the colour with ordinal {@code i} has been collected.
+     *
+     * @return the bitmask of collected colours
+     */
+    public int getCollectedColourMask() {
+        return collectedColourMask;
     }
 
     /**
@@ -0,0 +1,134 @@
+package com.paradegame.model;
+
+/**
+ * The ScoreCalculator class computes final scores from compact per-player colour totals
+ * without touching any players or cards, so it can be called any number of times,
+ * for example by AI players evaluating possible endings of the game.
+ *
+ * Totals are passed as flat arrays indexed by {@code player * Card.COLOURS + colour},
+ * holding the number of collected cards of each colour and their total value.
+ * A player with the majority of a colour flips it, making each card of that colour worth 1 point.
+ * With more than 2 players every player tied for the most cards of a colour flips it; in a 2-player
+ * game a majority requires at least a 2-card lead. Each rule has its own specialised loop.
+ */
+public final class ScoreCalculator {
+    private static final int COLOURS = Card.COLOURS;
+
+    /**
+     * Prevents instantiation, as all methods are static.
+     */
+    private ScoreCalculator() {
+    }
+
+    /**
+     * Calculates the score of every player.
+     *
+     * @param counts the number of collected cards of each colour for each player
+     * @param values the total value of collected cards of each colour for each player
+     * @param numPlayers the number of players in the game
+     * @param scores the array receiving the score of each player, at least {@code numPlayers} long
+     */
+    public static void calculateScores(int[] counts, int[] values, int numPlayers, int[] scores) {
+        if (numPlayers == 2) {
+            calculateTwoPlayerScores(counts, values, scores);
+        } else {
+            calculateMultiPlayerScores(counts, values, numPlayers, scores);
+        }
+    }
+
+    /**
+     * Calculates the score of a single player.
+     *
+     * @param counts the number of collected cards of each colour for each player
+     * @param values the total value of collected cards of each colour for each player
+     * @param numPlayers the number of players in the game
+     * @param player the index of the player to score
+     * @return the player's score
+     */
+    public static int calculateScore(int[] counts, int[] values, int numPlayers, int player) {
+        int flipped = flippedColours(counts, numPlayers, player);
+        int base = player * COLOURS;
+        int score = 0;
+        for (int c = 0; c < COLOURS; c++) {
+            score += (flipped >>> c & 1) != 0 ? counts[base + c] : values[base + c];
+        }
+        return score;
+    }
+
+    /**
+     * Determines which colours a player flips.
+     *
+     * @param counts the number of collected cards of each colour for each player
+     * @param numPlayers the number of players in the game
+     * @param player the index of the player
+     * @return a bitmask in which bit {@code c} is set if the player flips the colour with ordinal {@code c}
+     */
+    public static int flippedColours(int[] counts, int numPlayers, int player) {
+        int base = player * COLOURS;
+        int flipped = 0;
+        if (numPlayers == 2) {
+            int otherBase = (1 - player) * COLOURS;
+            for (int c = 0; c < COLOURS; c++) {
+                if (counts[base + c] - counts[otherBase + c] > 1) {
+                    flipped |= 1 << c;
+                }
+            }
+        } else {
+            for (int c = 0; c < COLOURS; c++) {
+                int mine = counts[base + c];
+                boolean isMax = true;
+                for (int p = 0; p < numPlayers && isMax; p++) {
+                    isMax = counts[p * COLOURS + c] <= mine;
+                }
+                if (isMax) {
+                    flipped |= 1 << c;
+                }
+            }
+        }
+        return flipped;
+    }
+
+    /**
+     * Calculates the scores of a 2-player game, where a colour is flipped only with a lead of at least 2 cards.
+     *
+     * @param counts the number of collected cards of each colour for both players
+     * @param values the total value of collected cards of each colour for both players
+     * @param scores the array receiving the score of each player
+     */
+    private static void calculateTwoPlayerScores(int[] counts, int[] values, int[] scores) {
+        int score0 = 0;
+        int score1 = 0;
+        for (int c = 0; c < COLOURS; c++) {
+            int lead = counts[c] - counts[COLOURS + c];
+            score0 += lead > 1 ? counts[c] : values[c];
+            score1 += lead < -1 ? counts[COLOURS + c] : values[COLOURS + c];
+        }
+        scores[0] = score0;
+        scores[1] = score1;
+    }
+
+    /**
+     * Calculates the scores of a game with more than 2 players, where every player
+     * tied for the most cards of a colour flips it.
+     *
+     * @param counts the number of collected cards of each colour for each player
+     * @param values the total value of collected cards of each colour for each player
+     * @param numPlayers the number of players in the game
+     * @param scores the array receiving the score of each player
+     */
+    private static void calculateMultiPlayerScores(int[] counts, int[] values, int numPlayers, int[] scores) {
+        for (int p = 0; p < numPlayers; p++) {
+            scores[p] = 0;
+        }
+        for (int c = 0; c < COLOURS; c++) {
+            int max = 0;
+            for (int p = 0; p < numPlayers; p++) {
+                max = Math.max(max, counts[p * COLOURS + c]);
+            }
+            for (int p = 0; p < numPlayers; p++) {
+                int i = p * COLOURS + c;
+                scores[p] += counts[i] == max ? counts[i] : values[i];
+            }
+        }
+    }
+}
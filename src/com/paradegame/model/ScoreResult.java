@@ -0,0 +1,67 @@
+package com.paradegame.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the outcome of scoring a finished game.
+ * It holds the final score of each player and the colours each player flipped
+ * by holding the majority, so that the cards themselves never have to change.
+ */
+public class ScoreResult {
+    private final Map<Player, Integer> scores;
+    private final Map<Player, Set<Colour>> flippedColours;
+
+    /**
+     * Constructs a new ScoreResult.
+     *
+     * @param scores a map of players and their final scores, in turn order
+     * @param flippedColours a map of players and the colours they flipped
+     */
+    public ScoreResult(Map<Player, Integer> scores, Map<Player, Set<Colour>> flippedColours) {
+        this.scores = scores;
+        this.flippedColours = flippedColours;
+    }
+
+    /**
+     * Gets the final scores of all players.
+     *
+     * @return a map of players and their final scores, in turn order
+     */
+    public Map<Player, Integer> getScores() {
+        return Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * Gets the final score of a player.
+     *
+     * @param player the player
+     * @return the player's final score
+     */
+    public int getScore(Player player) {
+        return scores.get(player);
+    }
+
+    /**
+     * Gets the colours a player flipped by holding the majority of that colour.
+     *
+     * @param player the player
+     * @return the set of flipped colours, which may be empty
+     */
+    public Set<Colour> getFlippedColours(Player player) {
+        return Collections.unmodifiableSet(flippedColours.getOrDefault(player, EnumSet.noneOf(Colour.class)));
+    }
+
+    /**
+     * Checks whether a card collected by a player was flipped during scoring.
+     *
+     * @param player the player who collected the card
+     * @param card the collected card
+     * @return {@code true} if the card counts as 1 point, {@code false} if it counts at face value
+     */
+    public boolean isFlipped(Player player, Card card) {
+        return flippedColours.containsKey(player) && flippedColours.get(player).contains(card.getColour());
+    }
+}
@@ -0,0 +1,142 @@
+package com.paradegame.model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The Zobrist class holds the random 64-bit keys used to hash game positions.
+ *
+ * The hash of a position is the XOR of one key for every feature of it: each pair of neighbouring
+ * cards in the parade, each card in each player's hand and collected pile, the number of cards
+ * left in the deck, the player whose turn it is and the last round index. Every move only changes
+ * a few features, so a hash can be kept up to date in constant time per card moved by XOR-ing
+ * out the keys of the old features and XOR-ing in the keys of the new ones.
+ *
+ * The parade is hashed by its neighbouring pairs, including a pair marking its first card,
+ * rather than by the position of each card. Removing a card from the middle of the parade then
+ * only replaces two pairs with one, instead of shifting every card behind it.
+ *
+ * The keys are generated from a fixed seed, so hashes are the same in every run.
+ * The same position gives the same hash whether it is held in a GameState or a CompactGameState.
+ */
+public final class Zobrist {
+    /**
+     * The largest number of players a position can be hashed for.
+     */
+    public static final int MAX_PLAYERS = 6;
+
+    private static final int DECK_SIZE = Card.DECK_SIZE;
+    private static final long[] PARADE_KEYS = new long[(DECK_SIZE + 1) * DECK_SIZE];
+    private static final long[] HAND_KEYS = new long[MAX_PLAYERS * DECK_SIZE];
+    private static final long[] COLLECTED_KEYS = new long[MAX_PLAYERS * DECK_SIZE];
+    private static final long[] DECK_KEYS = new long[DECK_SIZE + 1];
+    private static final long[] TURN_KEYS = new long[MAX_PLAYERS];
+    private static final long[] LAST_ROUND_KEYS = new long[MAX_PLAYERS + 2];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5A0B_1257L);
+        for (long[] keys : new long[][] {PARADE_KEYS, HAND_KEYS, COLLECTED_KEYS, DECK_KEYS, TURN_KEYS, LAST_ROUND_KEYS}) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation, as all methods are static.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of two neighbouring cards in the parade.
+     *
+     * @param previous the id of the card in front, or -1 if the card is the first of the parade
+     * @param id the id of the card
+     * @return the key
+     */
+    public static long parade(int previous, int id) {
+        return PARADE_KEYS[(previous + 1) * DECK_SIZE + id];
+    }
+
+    /**
+     * Gets the key of a card in a player's hand.
+     *
+     * @param player the index of the player in turn order
+     * @param id the id of the card
+     * @return the key
+     */
+    public static long hand(int player, int id) {
+        return HAND_KEYS[player * DECK_SIZE + id];
+    }
+
+    /**
+     * Gets the key of a card in a player's collected pile.
+     *
+     * @param player the index of the player in turn order
+     * @param id the id of the card
+     * @return the key
+     */
+    public static long collected(int player, int id) {
+        return COLLECTED_KEYS[player * DECK_SIZE + id];
+    }
+
+    /**
+     * Gets the key of the number of cards left in the deck.
+     *
+     * @param remaining the number of undrawn cards
+     * @return the key
+     */
+    public static long deck(int remaining) {
+        return DECK_KEYS[remaining];
+    }
+
+    /**
+     * Gets the key of the player whose turn it is.
+     *
+     * @param player the index of the current player
+     * @return the key
+     */
+    public static long turn(int player) {
+        return TURN_KEYS[player];
+    }
+
+    /**
+     * Gets the key of the last round index.
+     *
+     * @param lastRoundIndex the number of turns played since the last round started, or 0 before it
+     * @return the key
+     */
+    public static long lastRound(int lastRoundIndex) {
+        return LAST_ROUND_KEYS[lastRoundIndex];
+    }
+
+    /**
+     * Computes the hash of a game state from scratch.
+     * Game engines keep the hash up to date move by move, so this is only needed to start from
+     * an existing position or to check an incrementally maintained hash.
+     *
+     * @param gameState the game state to hash
+     * @return the hash of the position
+     * @throws IllegalArgumentException if the game has more than {@link #MAX_PLAYERS} players
+     */
+    public static long hash(GameState gameState) {
+        List<Player> players = gameState.getPlayers();
+        if (players.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Cannot hash a game of " + players.size() + " players");
+        }
+
+        long hash = gameState.getParade().getHash();
+        for (int p = 0; p < players.size(); p++) {
+            for (Card card : players.get(p).getHand()) {
+                hash ^= hand(p, card.getId());
+            }
+            for (Card card : players.get(p).getCollected()) {
+                hash ^= collected(p, card.getId());
+            }
+        }
+        return hash ^ deck(gameState.getDeck().size())
+                ^ turn(gameState.getCurrentPlayerIndex())
+                ^ lastRound(gameState.getlastRoundIndex());
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * This package contains the core game model classes, including Card, Colour, Deck,
- * GameState, Parade and Player which define the fundamental components of the game.
+ * This package contains the core game model classes, including BatchScoreCalculator, Card, Colour, CompactGameState, Deck,
+ * GameState, Parade, Player, ScoreCalculator, ScoreResult and Zobrist which define the fundamental components of the game.
  */
 package com.paradegame.model;
\ No newline at end of file
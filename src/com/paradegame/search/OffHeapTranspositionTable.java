@@ -0,0 +1,252 @@
+package com.paradegame.search;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A cache of evaluated positions that works like {@link TranspositionTable}, but keeps its entries
+ * outside the Java heap, so that tables of many gigabytes add nothing to garbage collection pauses.
+ *
+ * The entries are held in direct byte buffers, or in buffers memory-mapped from a file so that the
+ * evaluations are kept when the program ends and reused by the next run opening the same file.
+ * A single buffer holds at most 1 GiB, so larger tables are split into shards of equal size.
+ * Slots use the same two-word layout, XOR validation and compare-and-set writes as the on-heap table,
+ * and can be shared by any number of search threads.
+ */
+public class OffHeapTranspositionTable implements AutoCloseable {
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_SHARD_BITS = 26;
+    private static final int AGES = 64;
+    private static final VarHandle WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] shards;
+    private final int shardBits;
+    private final long mask;
+    private final ReplacementPolicy policy;
+    private volatile int age;
+
+    /**
+     * Constructs a new empty OffHeapTranspositionTable in direct memory.
+     *
+     * @param capacity the minimum number of entries, which is rounded up to a power of two
+     * @param policy the policy deciding which of two positions competing for a slot is kept
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public OffHeapTranspositionTable(long capacity, ReplacementPolicy policy) {
+        this(allocateDirect(capacity), capacity, policy);
+    }
+
+    /**
+     * Constructs a new OffHeapTranspositionTable memory-mapped from a file, which is created if it does not exist.
+     * Entries already stored in the file by an earlier run with the same capacity are kept.
+     *
+     * @param file the file holding the entries
+     * @param capacity the minimum number of entries, which is rounded up to a power of two
+     * @param policy the policy deciding which of two positions competing for a slot is kept
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public OffHeapTranspositionTable(Path file, long capacity, ReplacementPolicy policy) throws IOException {
+        this(map(file, capacity), capacity, policy);
+    }
+
+    /**
+     * Constructs a new OffHeapTranspositionTable over the given shards.
+     *
+     * @param shards the buffers holding the slots, all of the same size
+     * @param capacity the minimum number of entries
+     * @param policy the replacement policy
+     */
+    private OffHeapTranspositionTable(ByteBuffer[] shards, long capacity, ReplacementPolicy policy) {
+        this.shards = shards;
+        this.shardBits = Integer.numberOfTrailingZeros(shards[0].capacity() / SLOT_BYTES);
+        this.mask = entriesFor(capacity) - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the number of entries of a table, rounding the capacity up to a power of two.
+     *
+     * @param capacity the minimum number of entries
+     * @return the number of entries
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    private static long entriesFor(long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid transposition table capacity: " + capacity);
+        }
+        return capacity == 1 ? 1 : Long.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Gets the number of entries in each shard of a table.
+     *
+     * @param capacity the minimum number of entries
+     * @return the number of entries per shard
+     */
+    private static long entriesPerShard(long capacity) {
+        return Math.min(entriesFor(capacity), 1L << MAX_SHARD_BITS);
+    }
+
+    /**
+     * Allocates the shards of a table in direct memory.
+     *
+     * @param capacity the minimum number of entries
+     * @return the shards
+     */
+    private static ByteBuffer[] allocateDirect(long capacity) {
+        long perShard = entriesPerShard(capacity);
+        ByteBuffer[] shards = new ByteBuffer[(int) (entriesFor(capacity) / perShard)];
+        for (int s = 0; s < shards.length; s++) {
+            shards[s] = ByteBuffer.allocateDirect((int) (perShard * SLOT_BYTES));
+        }
+        return shards;
+    }
+
+    /**
+     * Maps the shards of a table from consecutive regions of a file.
+     *
+     * @param file the file holding the entries
+     * @param capacity the minimum number of entries
+     * @return the shards
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    private static ByteBuffer[] map(Path file, long capacity) throws IOException {
+        long shardBytes = entriesPerShard(capacity) * SLOT_BYTES;
+        ByteBuffer[] shards = new ByteBuffer[(int) (entriesFor(capacity) * SLOT_BYTES / shardBytes)];
+        // The mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int s = 0; s < shards.length; s++) {
+                shards[s] = channel.map(FileChannel.MapMode.READ_WRITE, s * shardBytes, shardBytes);
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Looks up the entry for a position.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the packed entry data, read with the accessors of {@link TranspositionTable},
+     *         or {@link TranspositionTable#MISS} if the table holds no entry for the position
+     */
+    public long probe(long hash) {
+        ByteBuffer shard = shardOf(hash);
+        int offset = offsetOf(hash);
+        long check = (long) WORDS.getOpaque(shard, offset);
+        long data = (long) WORDS.getOpaque(shard, offset + 8);
+        return data != TranspositionTable.MISS && (check ^ data) == hash ? data : TranspositionTable.MISS;
+    }
+
+    /**
+     * Stores the evaluation of a position, unless the replacement policy keeps the entry
+     * of another position in its slot or another thread writes the slot at the same time.
+     *
+     * @param hash the Zobrist hash of the position
+     * @param value the value of the position
+     * @param depth the depth the position was searched to, between 0 and {@link TranspositionTable#MAX_DEPTH}
+     * @param bound whether the value is {@link TranspositionTable#EXACT}, a {@link TranspositionTable#LOWER_BOUND}
+     *              or an {@link TranspositionTable#UPPER_BOUND}
+     * @param move the best move found, between -1 for none and 65534
+     * @return {@code true} if the entry was stored, {@code false} otherwise
+     */
+    public boolean store(long hash, int value, int depth, int bound, int move) {
+        ByteBuffer shard = shardOf(hash);
+        int offset = offsetOf(hash);
+        long oldCheck = (long) WORDS.getOpaque(shard, offset);
+        long oldData = (long) WORDS.getOpaque(shard, offset + 8);
+        int currentAge = age;
+        if (oldData != TranspositionTable.MISS && (oldCheck ^ oldData) != hash
+                && !policy.shouldReplace(TranspositionTable.getDepth(oldData), TranspositionTable.getAge(oldData),
+                        depth, currentAge)) {
+            return false;
+        }
+
+        long data = TranspositionTable.pack(value, depth, bound, move, currentAge);
+        if (!WORDS.compareAndSet(shard, offset + 8, oldData, data)) {
+            return false;
+        }
+        WORDS.setOpaque(shard, offset, hash ^ data);
+        return true;
+    }
+
+    /**
+     * Starts a new search generation, so that entries from earlier searches count as old
+     * for the {@link ReplacementPolicy#DEPTH_AND_AGE} policy.
+     */
+    public void newSearch() {
+        age = (age + 1) % AGES;
+    }
+
+    /**
+     * Removes every entry from the table and restarts the search generations, leaving the table
+     * as if it had just been constructed. This must not be called while other threads use the table.
+     */
+    public void clear() {
+        byte[] zeros = new byte[1 << 16];
+        for (ByteBuffer shard : shards) {
+            for (int offset = 0; offset < shard.capacity(); offset += zeros.length) {
+                shard.put(offset, zeros, 0, Math.min(zeros.length, shard.capacity() - offset));
+            }
+        }
+        age = 0;
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     *
+     * @return the capacity of the table
+     */
+    public long getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the replacement policy of the table.
+     *
+     * @return the replacement policy
+     */
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Writes the entries of a memory-mapped table back to its file. Direct-memory tables are not affected.
+     */
+    @Override
+    public void close() {
+        for (ByteBuffer shard : shards) {
+            if (shard instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) shard).force();
+            }
+        }
+    }
+
+    /**
+     * Gets the shard holding the slot of a position.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the shard buffer
+     */
+    private ByteBuffer shardOf(long hash) {
+        return shards[(int) ((hash & mask) >>> shardBits)];
+    }
+
+    /**
+     * Gets the byte offset of the slot of a position within its shard.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the offset of the first word of the slot
+     */
+    private int offsetOf(long hash) {
+        return ((int) hash & ((1 << shardBits) - 1)) * SLOT_BYTES;
+    }
+}
@@ -0,0 +1,45 @@
+package com.paradegame.search;
+
+/**
+ * Decides whether a new entry may replace the entry for a different position in the same slot of a
+ * {@link TranspositionTable}. An entry for the same position is always replaced.
+ */
+public enum ReplacementPolicy {
+    /**
+     * Always replaces the old entry, keeping the most recently stored positions.
+     */
+    ALWAYS,
+
+    /**
+     * Replaces the old entry only if the new one was searched at least as deep,
+     * keeping the entries that were most expensive to compute.
+     */
+    DEPTH,
+
+    /**
+     * Replaces the old entry if it was stored during an earlier search, or if the new one
+     * was searched at least as deep. Deep entries are kept within a search, but do not
+     * fill the table forever once the game has moved on.
+     */
+    DEPTH_AND_AGE;
+
+    /**
+     * Checks whether a new entry may replace an old entry for a different position.
+     *
+     * @param oldDepth the search depth of the old entry
+     * @param oldAge the search generation the old entry was stored in
+     * @param newDepth the search depth of the new entry
+     * @param currentAge the current search generation
+     * @return {@code true} if the old entry may be replaced, {@code false} otherwise
+     */
+    boolean shouldReplace(int oldDepth, int oldAge, int newDepth, int currentAge) {
+        switch (this) {
+            case DEPTH:
+                return newDepth >= oldDepth;
+            case DEPTH_AND_AGE:
+                return oldAge != currentAge || newDepth >= oldDepth;
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.paradegame.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A fixed-size cache of evaluated positions keyed by their 64-bit Zobrist hash, which can be shared
+ * by any number of search threads without locking.
+ *
+ * Each slot is two longs of a single array: the entry data and the hash XOR-ed with the data.
+ * A probe only accepts a slot whose two words XOR back to the probed hash, so an entry read
+ * while another thread is writing it is seen as a miss rather than as a wrong result. Entries are
+ * written by a compare-and-set on the data word, so two threads replacing the same slot at once
+ * cannot both succeed, and the loser simply does not store its entry.
+ *
+ * When a slot already holds a different position, the {@link ReplacementPolicy} decides which one to
+ * keep. Every entry records the search generation it was stored in, which is advanced by
+ * {@link #newSearch()} so that the policy can prefer entries from the current search.
+ *
+ * The data of an entry is packed into a long and returned by {@link #probe(long)} as is, so that probing
+ * does not allocate. It is read with the static accessors {@link #getValue(long)}, {@link #getDepth(long)},
+ * {@link #getBound(long)} and {@link #getMove(long)}.
+ */
+public class TranspositionTable {
+    /**
+     * The result of a probe that found no entry for the position.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * The stored value is the exact value of the position.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The value of the position is at least the stored value.
+     */
+    public static final int LOWER_BOUND = 2;
+
+    /**
+     * The value of the position is at most the stored value.
+     */
+    public static final int UPPER_BOUND = 3;
+
+    /**
+     * The largest search depth an entry can record.
+     */
+    public static final int MAX_DEPTH = 255;
+
+    private static final int AGES = 64;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] slots;
+    private final int mask;
+    private final ReplacementPolicy policy;
+    private volatile int age;
+
+    /**
+     * Constructs a new empty TranspositionTable.
+     *
+     * @param capacity the minimum number of entries, which is rounded up to a power of two
+     * @param policy the policy deciding which of two positions competing for a slot is kept
+     * @throws IllegalArgumentException if the capacity is not positive or too large for a single array
+     */
+    public TranspositionTable(int capacity, ReplacementPolicy policy) {
+        if (capacity <= 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Invalid transposition table capacity: " + capacity);
+        }
+        int entries = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new long[Math.max(entries, 1) * 2];
+        this.mask = Math.max(entries, 1) - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Looks up the entry for a position.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the packed entry data, or {@link #MISS} if the table holds no entry for the position
+     */
+    public long probe(long hash) {
+        int slot = slotOf(hash);
+        long check = (long) SLOTS.getOpaque(slots, slot);
+        long data = (long) SLOTS.getOpaque(slots, slot + 1);
+        return data != MISS && (check ^ data) == hash ? data : MISS;
+    }
+
+    /**
+     * Stores the evaluation of a position, unless the replacement policy keeps the entry
+     * of another position in its slot or another thread writes the slot at the same time.
+     *
+     * @param hash the Zobrist hash of the position
+     * @param value the value of the position
+     * @param depth the depth the position was searched to, between 0 and {@link #MAX_DEPTH}
+     * @param bound whether the value is {@link #EXACT}, a {@link #LOWER_BOUND} or an {@link #UPPER_BOUND}
+     * @param move the best move found, between -1 for none and 65534
+     * @return {@code true} if the entry was stored, {@code false} otherwise
+     */
+    public boolean store(long hash, int value, int depth, int bound, int move) {
+        int slot = slotOf(hash);
+        long oldCheck = (long) SLOTS.getOpaque(slots, slot);
+        long oldData = (long) SLOTS.getOpaque(slots, slot + 1);
+        int currentAge = age;
+        if (oldData != MISS && (oldCheck ^ oldData) != hash
+                && !policy.shouldReplace(getDepth(oldData), getAge(oldData), depth, currentAge)) {
+            return false;
+        }
+
+        long data = pack(value, depth, bound, move, currentAge);
+        if (!SLOTS.compareAndSet(slots, slot + 1, oldData, data)) {
+            return false;
+        }
+        SLOTS.setOpaque(slots, slot, hash ^ data);
+        return true;
+    }
+
+    /**
+     * Starts a new search generation, so that entries from earlier searches count as old
+     * for the {@link ReplacementPolicy#DEPTH_AND_AGE} policy.
+     */
+    public void newSearch() {
+        age = (age + 1) % AGES;
+    }
+
+    /**
+     * Removes every entry from the table and restarts the search generations, leaving the table
+     * as if it had just been constructed. This must not be called while other threads use the table.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        age = 0;
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     *
+     * @return the capacity of the table
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the replacement policy of the table.
+     *
+     * @return the replacement policy
+     */
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the index of the first word of the slot of a position.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the index of the slot in the array
+     */
+    private int slotOf(long hash) {
+        return ((int) hash & mask) << 1;
+    }
+
+    /**
+     * Packs the data of an entry into a long. The bound is never 0, so a stored entry is never {@link #MISS}.
+     *
+     * @param value the value of the position
+     * @param depth the search depth
+     * @param bound the kind of bound the value is
+     * @param move the best move, or -1 for none
+     * @param age the search generation
+     * @return the packed entry
+     */
+    static long pack(int value, int depth, int bound, int move, int age) {
+        return (long) value << 32
+                | (long) ((move + 1) & 0xFFFF) << 16
+                | (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << 8
+                | (long) age << 2
+                | bound;
+    }
+
+    /**
+     * Gets the value of a probed entry.
+     *
+     * @param entry the entry returned by a probe
+     * @return the stored value
+     */
+    public static int getValue(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    /**
+     * Gets the search depth of a probed entry.
+     *
+     * @param entry the entry returned by a probe
+     * @return the depth the position was searched to
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> 8) & 0xFF;
+    }
+
+    /**
+     * Gets the kind of bound the value of a probed entry is.
+     *
+     * @param entry the entry returned by a probe
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public static int getBound(long entry) {
+        return (int) entry & 3;
+    }
+
+    /**
+     * Gets the best move of a probed entry.
+     *
+     * @param entry the entry returned by a probe
+     * @return the stored move, or -1 if none was stored
+     */
+    public static int getMove(long entry) {
+        return ((int) (entry >>> 16) & 0xFFFF) - 1;
+    }
+
+    /**
+     * Gets the search generation of an entry.
+     *
+     * @param entry the packed entry
+     * @return the generation the entry was stored in
+     */
+    static int getAge(long entry) {
+        return (int) (entry >>> 2) & (AGES - 1);
+    }
+}
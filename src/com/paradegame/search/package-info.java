@@ -0,0 +1,5 @@
+/**
+ * This package contains building blocks for AI players that search ahead through the game,
+ * such as caches of evaluated positions keyed by their Zobrist hash.
+ */
+package com.paradegame.search;
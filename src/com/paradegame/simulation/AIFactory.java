@@ -0,0 +1,22 @@
+package com.paradegame.simulation;
+
+import com.paradegame.ai.AIPlayer;
+
+/**
+ * Creates fresh AI players for simulated games.
+ * A new player is needed for every game because players hold their own hand and collected cards.
+ * Each player is given a seed for any random choices it makes, so a seeded tournament can be repeated exactly.
+ * AIs that make no random choices can ignore it, as in {@code (id, name, seed) -> new HardAI(id, name)}.
+ */
+@FunctionalInterface
+public interface AIFactory {
+    /**
+     * Creates a new AI player with the given id, name and random seed.
+     *
+     * @param id   the id of the AI player
+     * @param name the name of the AI player
+     * @param seed the seed of the AI player's random generator
+     * @return the created AI player
+     */
+    AIPlayer create(int id, String name, long seed);
+}
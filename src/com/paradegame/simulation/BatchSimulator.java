@@ -0,0 +1,475 @@
+package com.paradegame.simulation;
+
+import java.util.SplittableRandom;
+import com.paradegame.model.*;
+import com.paradegame.util.Config;
+
+/**
+ * Plays a large batch of games at once with a simple fixed policy, for mass self-play.
+ *
+ * Instead of one GameState object graph per game, the state of every game is held in flat primitive
+ * arrays shared by the whole batch: the parades, hands and decks as card ids, the collected cards as
+ * per-colour counts and value sums, and the turn and last round counters. The data of each game is
+ * contiguous within every array, and all games are advanced one turn at a time in lockstep, so a step
+ * walks each array from front to back. Finished games are dropped from the list of active games,
+ * so later steps only touch the games still being played.
+ *
+ * The rules are the same as those of a CompactGameState, and each game is dealt in the same way as
+ * a GameState created with the same seed, so a game of the batch ends with the same scores as the same
+ * game played on a CompactGameState with the same policy. Every player plays the card that collects the
+ * least total value, the first such card on ties, and discards the two cards of highest value.
+ */
+public class BatchSimulator {
+    private static final int COLOURS = Card.COLOURS;
+    private static final int DECK_SIZE = Card.DECK_SIZE;
+
+    private final int games;
+    private final int numPlayers;
+    private final int handCapacity;
+    private final int initialParadeSize;
+    private final int initialHandSize;
+
+    private final byte[] parades;
+    private final int[] paradeSizes;
+    private final byte[] hands;
+    private final int[] handSizes;
+    private final int[] collectedCounts;
+    private final int[] collectedValues;
+    private final int[] collectedColourMasks;
+    private final int[] collectedTotals;
+    private final byte[] decks;
+    private final int[] deckIndices;
+    private final int[] currentPlayers;
+    private final int[] lastRoundIndices;
+    private final boolean[] discardPhasesStarted;
+
+    private final int[] active;
+    private int activeCount;
+    private final int[] scoreCounts;
+    private final int[] scoreValues;
+
+    /**
+     * Constructs a new BatchSimulator for the given number of games and players.
+     * The games must be dealt with {@link #deal(long)} before they are played.
+     *
+     * @param games the number of games in the batch
+     * @param numPlayers the number of players in each game
+     */
+    public BatchSimulator(int games, int numPlayers) {
+        this.games = games;
+        this.numPlayers = numPlayers;
+        this.handCapacity = Math.max(Config.getInt("initialHandSize", 5), 1);
+        this.initialParadeSize = Config.getInt("initialParadeSize", 6);
+        this.initialHandSize = Config.getInt("initialHandSize", 5);
+
+        this.parades = new byte[games * DECK_SIZE];
+        this.paradeSizes = new int[games];
+        this.hands = new byte[games * numPlayers * handCapacity];
+        this.handSizes = new int[games * numPlayers];
+        this.collectedCounts = new int[games * numPlayers * COLOURS];
+        this.collectedValues = new int[games * numPlayers * COLOURS];
+        this.collectedColourMasks = new int[games * numPlayers];
+        this.collectedTotals = new int[games * numPlayers];
+        this.decks = new byte[games * DECK_SIZE];
+        this.deckIndices = new int[games];
+        this.currentPlayers = new int[games];
+        this.lastRoundIndices = new int[games];
+        this.discardPhasesStarted = new boolean[games];
+
+        this.active = new int[games];
+        this.scoreCounts = new int[numPlayers * COLOURS];
+        this.scoreValues = new int[numPlayers * COLOURS];
+    }
+
+    /**
+     * Deals a new game in every slot of the batch, reusing the arrays of the previous games.
+     * Game {@code g} is shuffled with a generator seeded with {@code seed + g}, as a Tournament
+     * seeds its games, so it is dealt like a GameState created with that seed.
+     *
+     * @param seed the seed of the first game
+     */
+    public void deal(long seed) {
+        for (int g = 0; g < games; g++) {
+            dealGame(g, new SplittableRandom(seed + g));
+        }
+        activeCount = 0;
+        for (int g = 0; g < games; g++) {
+            if (!isGameOver(g)) {
+                active[activeCount++] = g;
+            }
+        }
+    }
+
+    /**
+     * Shuffles the deck of a game and deals the parade and the hands.
+     *
+     * @param g the index of the game
+     * @param random the random generator used to shuffle the deck
+     */
+    private void dealGame(int g, SplittableRandom random) {
+        int deckStart = g * DECK_SIZE;
+        for (int id = 0; id < DECK_SIZE; id++) {
+            decks[deckStart + id] = (byte) id;
+        }
+        for (int i = 0; i < DECK_SIZE - 1; i++) {
+            int j = i + random.nextInt(DECK_SIZE - i);
+            byte temp = decks[deckStart + i];
+            decks[deckStart + i] = decks[deckStart + j];
+            decks[deckStart + j] = temp;
+        }
+
+        int deckIndex = 0;
+        int paradeSize = 0;
+        for (int i = 0; i < initialParadeSize && deckIndex < DECK_SIZE; i++) {
+            parades[deckStart + paradeSize++] = decks[deckStart + deckIndex++];
+        }
+        for (int p = 0; p < numPlayers; p++) {
+            int seat = g * numPlayers + p;
+            handSizes[seat] = 0;
+            for (int i = 0; i < initialHandSize && deckIndex < DECK_SIZE; i++) {
+                hands[seat * handCapacity + handSizes[seat]++] = decks[deckStart + deckIndex++];
+            }
+            for (int c = 0; c < COLOURS; c++) {
+                collectedCounts[seat * COLOURS + c] = 0;
+                collectedValues[seat * COLOURS + c] = 0;
+            }
+            collectedColourMasks[seat] = 0;
+            collectedTotals[seat] = 0;
+        }
+        paradeSizes[g] = paradeSize;
+        deckIndices[g] = deckIndex;
+        currentPlayers[g] = 0;
+        lastRoundIndices[g] = 0;
+        discardPhasesStarted[g] = false;
+        updateDiscardPhase(g);
+    }
+
+    /**
+     * Advances every unfinished game by one turn.
+     *
+     * @return the number of games still being played after the step
+     */
+    public int step() {
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int g = active[i];
+            if (isDiscardPhase(g)) {
+                discardHighest(g);
+            } else {
+                play(g, chooseLeastValue(g));
+            }
+            if (!isGameOver(g)) {
+                active[kept++] = g;
+            }
+        }
+        activeCount = kept;
+        return activeCount;
+    }
+
+    /**
+     * Plays every game of the batch to the end.
+     *
+     * @return the number of lockstep turns taken, which is that of the longest game
+     */
+    public int playToEnd() {
+        int turns = 0;
+        while (activeCount > 0) {
+            step();
+            turns++;
+        }
+        return turns;
+    }
+
+    /**
+     * Chooses the card of the current player's hand that collects the least total value.
+     *
+     * @param g the index of the game
+     * @return the index of the chosen card in the hand
+     */
+    private int chooseLeastValue(int g) {
+        int seat = g * numPlayers + currentPlayers[g];
+        int handStart = seat * handCapacity;
+        int paradeStart = g * DECK_SIZE;
+        int paradeSize = paradeSizes[g];
+
+        int best = 0;
+        int minValue = Integer.MAX_VALUE;
+        for (int k = 0; k < handSizes[seat]; k++) {
+            int played = hands[handStart + k] & 0xFF;
+            int playedValue = Card.valueOf(played);
+            int playedColour = Card.colourOf(played);
+            int total = 0;
+            for (int pos = 0; pos < paradeSize - playedValue; pos++) {
+                int id = parades[paradeStart + pos] & 0xFF;
+                int value = Card.valueOf(id);
+
+                // Added without a branch, as in Parade.previewAll, since the outcome is unpredictable
+                int taken = (Card.colourOf(id) ^ playedColour) - 1 >>> 31 | (playedValue - value >>> 31 ^ 1);
+                total += value & -taken;
+            }
+            if (total < minValue) {
+                minValue = total;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays a card of the current player's hand and advances the turn, applying the same rules as
+     * {@link CompactGameState#play(int)}.
+     *
+     * @param g the index of the game
+     * @param handIndex the index of the card in the current player's hand
+     */
+    private void play(int g, int handIndex) {
+        int player = currentPlayers[g];
+        int seat = g * numPlayers + player;
+        int handStart = seat * handCapacity;
+        int paradeStart = g * DECK_SIZE;
+        int deckStart = g * DECK_SIZE;
+        int id = hands[handStart + handIndex] & 0xFF;
+        hands[handStart + handIndex] = hands[handStart + --handSizes[seat]];
+
+        int playedValue = Card.valueOf(id);
+        int playedColour = Card.colourOf(id);
+        int paradeSize = paradeSizes[g];
+        parades[paradeStart + paradeSize++] = (byte) id;
+
+        if (paradeSize > playedValue) {
+            int candidates = paradeSize - 1 - playedValue;
+            int kept = 0;
+            for (int pos = 0; pos < candidates; pos++) {
+                int candidate = parades[paradeStart + pos] & 0xFF;
+                if (Card.colourOf(candidate) == playedColour || Card.valueOf(candidate) <= playedValue) {
+                    collect(seat, candidate);
+                } else {
+                    parades[paradeStart + kept++] = (byte) candidate;
+                }
+            }
+            System.arraycopy(parades, paradeStart + candidates, parades, paradeStart + kept, paradeSize - candidates);
+            paradeSize -= candidates - kept;
+        }
+        paradeSizes[g] = paradeSize;
+
+        // Check whether the last round starts, then draw if allowed
+        int deckIndex = deckIndices[g];
+        if (Integer.bitCount(collectedColourMasks[seat]) >= COLOURS
+                || DECK_SIZE - deckIndex <= 1 || lastRoundIndices[g] > 0) {
+            lastRoundIndices[g]++;
+        }
+        if (lastRoundIndices[g] == 0 || (lastRoundIndices[g] == 1 && deckIndex < DECK_SIZE)) {
+            hands[handStart + handSizes[seat]++] = decks[deckStart + deckIndex];
+            deckIndices[g] = deckIndex + 1;
+        }
+
+        nextTurn(g);
+    }
+
+    /**
+     * Discards the two cards of highest value from the current player's hand, the first ones on ties,
+     * collects the rest of the hand and advances the turn.
+     *
+     * @param g the index of the game
+     */
+    private void discardHighest(int g) {
+        int seat = g * numPlayers + currentPlayers[g];
+        int handStart = seat * handCapacity;
+        int handSize = handSizes[seat];
+
+        int first = 0;
+        int second = 1;
+        if (Card.valueOf(hands[handStart + second] & 0xFF) > Card.valueOf(hands[handStart + first] & 0xFF)) {
+            first = 1;
+            second = 0;
+        }
+        for (int k = 2; k < handSize; k++) {
+            int value = Card.valueOf(hands[handStart + k] & 0xFF);
+            if (value > Card.valueOf(hands[handStart + first] & 0xFF)) {
+                second = first;
+                first = k;
+            } else if (value > Card.valueOf(hands[handStart + second] & 0xFF)) {
+                second = k;
+            }
+        }
+
+        for (int k = 0; k < handSize; k++) {
+            if (k != first && k != second) {
+                collect(seat, hands[handStart + k] & 0xFF);
+            }
+        }
+        handSizes[seat] = 0;
+        nextTurn(g);
+    }
+
+    /**
+     * Adds a card to a player's collected totals.
+     *
+     * @param seat the index of the player across the batch, {@code game * numPlayers + player}
+     * @param id the id of the collected card
+     */
+    private void collect(int seat, int id) {
+        int colour = Card.colourOf(id);
+        collectedCounts[seat * COLOURS + colour]++;
+        collectedValues[seat * COLOURS + colour] += Card.valueOf(id);
+        collectedColourMasks[seat] |= 1 << colour;
+        collectedTotals[seat]++;
+    }
+
+    /**
+     * Moves a game to its next player and starts the discard phase once no more cards are to be played.
+     *
+     * @param g the index of the game
+     */
+    private void nextTurn(int g) {
+        currentPlayers[g] = (currentPlayers[g] + 1) % numPlayers;
+        updateDiscardPhase(g);
+    }
+
+    /**
+     * Starts the discard phase of a game if it is over or its current player has reached the discard phase.
+     *
+     * @param g the index of the game
+     */
+    private void updateDiscardPhase(int g) {
+        if (!discardPhasesStarted[g] && (lastRoundIndices[g] == numPlayers + 1 || isCurrentHandDiscardSize(g))) {
+            discardPhasesStarted[g] = true;
+        }
+    }
+
+    /**
+     * Checks whether the current player of a game holds the number of cards of the discard phase.
+     *
+     * @param g the index of the game
+     * @return {@code true} if the current player's hand size is that of the discard phase
+     */
+    private boolean isCurrentHandDiscardSize(int g) {
+        int handSize = handSizes[g * numPlayers + currentPlayers[g]];
+        return handSize <= 4 && handSize > 2;
+    }
+
+    /**
+     * Checks whether the current player of a game has to discard rather than play.
+     *
+     * @param g the index of the game
+     * @return {@code true} if the game is in the discard phase, {@code false} otherwise
+     */
+    private boolean isDiscardPhase(int g) {
+        return discardPhasesStarted[g] && isCurrentHandDiscardSize(g);
+    }
+
+    /**
+     * Checks whether a game has ended, after every player has discarded.
+     *
+     * @param g the index of the game
+     * @return {@code true} if the game is over, {@code false} otherwise
+     */
+    public boolean isGameOver(int g) {
+        return discardPhasesStarted[g] && !isCurrentHandDiscardSize(g);
+    }
+
+    /**
+     * Calculates the score of every player of a game as it stands.
+     *
+     * @param g the index of the game
+     * @param scores the array receiving the score of each player
+     */
+    public void calculateScores(int g, int[] scores) {
+        System.arraycopy(collectedCounts, g * numPlayers * COLOURS, scoreCounts, 0, scoreCounts.length);
+        System.arraycopy(collectedValues, g * numPlayers * COLOURS, scoreValues, 0, scoreValues.length);
+        ScoreCalculator.calculateScores(scoreCounts, scoreValues, numPlayers, scores);
+    }
+
+    /**
+     * Determines the winner of a game from the scores of its players, using the same tie-break as the game:
+     * the lowest score wins, then the fewest collected cards, then the earliest player in turn order.
+     *
+     * @param g the index of the game
+     * @param scores the score of each player, as calculated by {@link #calculateScores(int, int[])}
+     * @return the index of the winning player
+     */
+    public int getWinner(int g, int[] scores) {
+        int winner = 0;
+        for (int p = 1; p < numPlayers; p++) {
+            int total = collectedTotals[g * numPlayers + p];
+            int winnerTotal = collectedTotals[g * numPlayers + winner];
+            if (scores[p] < scores[winner] || (scores[p] == scores[winner] && total < winnerTotal)) {
+                winner = p;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Gets the number of games in the batch.
+     *
+     * @return the number of games
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of players in each game.
+     *
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Gets the number of games still being played.
+     *
+     * @return the number of unfinished games
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Plays a batch of games from the command line and prints how often each seat wins and the games per second.
+     * Arguments of the form {@code games=4096}, {@code players=3}, {@code batches=10} and {@code seed=42}
+     * set the size of the batch, the number of players, the number of batches played in a row and the seed.
+     *
+     * @param args optional {@code games=}, {@code players=}, {@code batches=} and {@code seed=} settings
+     */
+    public static void main(String[] args) {
+        int games = 4096;
+        int numPlayers = 3;
+        int batches = 10;
+        long seed = new SplittableRandom().nextLong();
+        for (String arg : args) {
+            if (arg.startsWith("games=")) {
+                games = Integer.parseInt(arg.substring("games=".length()));
+            } else if (arg.startsWith("players=")) {
+                numPlayers = Integer.parseInt(arg.substring("players=".length()));
+            } else if (arg.startsWith("batches=")) {
+                batches = Integer.parseInt(arg.substring("batches=".length()));
+            } else if (arg.startsWith("seed=")) {
+                seed = Long.parseLong(arg.substring("seed=".length()));
+            }
+        }
+
+        BatchSimulator simulator = new BatchSimulator(games, numPlayers);
+        long[] wins = new long[numPlayers];
+        int[] scores = new int[numPlayers];
+        long start = System.nanoTime();
+        for (int batch = 0; batch < batches; batch++) {
+            simulator.deal(seed + (long) batch * games);
+            simulator.playToEnd();
+            for (int g = 0; g < games; g++) {
+                simulator.calculateScores(g, scores);
+                wins[simulator.getWinner(g, scores)]++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = (long) games * batches;
+        System.out.printf("Played %d games of %d players with seed %d%n", total, numPlayers, seed);
+        for (int p = 0; p < numPlayers; p++) {
+            System.out.printf("Seat %d wins %6.2f%%%n", p + 1, 100.0 * wins[p] / total);
+        }
+        System.out.printf("%d games in %.2f s (%.0f games/sec)%n", total, seconds, total / seconds);
+    }
+}
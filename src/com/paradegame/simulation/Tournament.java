@@ -0,0 +1,267 @@
+package com.paradegame.simulation;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import com.paradegame.ai.*;
+import com.paradegame.controller.GameEngine;
+import com.paradegame.model.*;
+import com.paradegame.search.ReplacementPolicy;
+import com.paradegame.search.TranspositionTable;
+import com.paradegame.util.Config;
+
+/**
+ * The Tournament class plays a large number of headless games between AI players
+ * and reports the win rate and mean score of each entrant.
+ *
+ * Games are split into ranges and played on a ForkJoinPool. Every game creates its own players
+ * and game state, and every range fills its own TournamentResult which is merged when the
+ * ranges are joined, so workers never share mutable state. Seats are rotated between games so
+ * that no entrant always moves first.
+ *
+ * Each game shuffles its deck with its own generator seeded from the tournament seed and the
+ * index of the game, and every player is created with a seed derived from the same game seed and
+ * its seat, so any single game can be replayed exactly with {@link #getGameSeed(long)} and
+ * {@link #getPlayerSeed(long, int)}.
+ */
+public class Tournament {
+    /** Number of games a task plays itself instead of splitting its range further. */
+    private static final int GAMES_PER_TASK = 256;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<AIFactory> factories = new ArrayList<>();
+    private long seed = new SplittableRandom().nextLong();
+
+    /**
+     * Adds an entrant to the tournament. Every game is played by all entrants.
+     *
+     * @param name the name of the entrant
+     * @param factory the factory creating the entrant's AI player for each game
+     */
+    public void addEntrant(String name, AIFactory factory) {
+        names.add(name);
+        factories.add(factory);
+    }
+
+    /**
+     * Sets the seed from which the seed of every game is derived.
+     * Two runs with the same seed, entrants and number of games produce the same results.
+     *
+     * @param seed the tournament seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the seed from which the seed of every game is derived.
+     *
+     * @return the tournament seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the seed used to shuffle the deck of a game.
+     *
+     * @param game the index of the game
+     * @return the seed of the game
+     */
+    public long getGameSeed(long game) {
+        return seed + game;
+    }
+
+    /**
+     * Gets the seed given to the AI player in a seat of a game.
+     * It is derived from the seed of the game, so it does not depend on which thread plays the game.
+     *
+     * @param game the index of the game
+     * @param seat the index of the seat, starting from 0
+     * @return the seed of the player
+     */
+    public long getPlayerSeed(long game, int seat) {
+        // Mixing in the seat keeps the players' generators apart from each other and from the deck's
+        return new SplittableRandom(getGameSeed(game) ^ 0x9E3779B97F4A7C15L * (seat + 1)).nextLong();
+    }
+
+    /**
+     * Plays the given number of games using all available processors.
+     *
+     * @param games the number of games to play
+     * @return the results of the tournament
+     */
+    public TournamentResult run(long games) {
+        return run(games, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the given number of games using the given number of worker threads.
+     *
+     * @param games the number of games to play
+     * @param parallelism the number of worker threads
+     * @return the results of the tournament
+     * @throws IllegalStateException if fewer than two entrants have been added
+     */
+    public TournamentResult run(long games, int parallelism) {
+        if (names.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least 2 entrants");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            TournamentResult result = pool.invoke(new GameRangeTask(0, games));
+            result.setElapsedNanos(System.nanoTime() - start);
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single game and records its outcome.
+     *
+     * @param game the index of the game, used to rotate the seats
+     * @param result the result to record the outcome in
+     */
+    private void playGame(long game, TournamentResult result) {
+        int numEntrants = names.size();
+        int rotation = (int) (game % numEntrants);
+
+        List<Player> players = new ArrayList<>(numEntrants);
+        for (int seat = 0; seat < numEntrants; seat++) {
+            int entrant = (seat + rotation) % numEntrants;
+            players.add(factories.get(entrant).create(seat + 1, names.get(entrant), getPlayerSeed(game, seat)));
+        }
+
+        GameEngine engine = new GameEngine(players, getGameSeed(game));
+        ScoreResult scores = engine.playToEnd();
+        Player winner = GameEngine.getWinner(scores.getScores());
+
+        int[] entrantScores = new int[numEntrants];
+        int winningEntrant = 0;
+        for (int seat = 0; seat < numEntrants; seat++) {
+            int entrant = (seat + rotation) % numEntrants;
+            Player player = players.get(seat);
+            entrantScores[entrant] = scores.getScore(player);
+            if (player == winner) {
+                winningEntrant = entrant;
+            }
+        }
+        result.recordGame(entrantScores, winningEntrant);
+    }
+
+    /**
+     * Plays a range of games, splitting the range in half until it is small enough to play directly.
+     */
+    private class GameRangeTask extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        GameRangeTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                TournamentResult result = new TournamentResult(names.toArray(new String[0]));
+                for (long game = from; game < to; game++) {
+                    playGame(game, result);
+                }
+                return result;
+            }
+            long mid = (from + to) >>> 1;
+            GameRangeTask left = new GameRangeTask(from, mid);
+            left.fork();
+            TournamentResult right = new GameRangeTask(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Creates a factory for one of the built-in AI difficulty levels.
+     *
+     * @param difficulty the difficulty level of the AI ("easy", "medium", "hard", "montecarlo", "endgame" or "ismcts")
+     * @return the factory creating AI players of that difficulty
+     * @throws IllegalArgumentException if the difficulty is not recognised
+     */
+    public static AIFactory createFactory(String difficulty) {
+        switch (difficulty.toLowerCase()) {
+            case "easy":
+                return (id, name, seed) -> new EasyAI(id, name);
+            case "medium":
+                return (id, name, seed) -> new MediumAI(id, name);
+            case "hard":
+                return (id, name, seed) -> new HardAI(id, name);
+            case "montecarlo":
+                return MonteCarloAI::new;
+            case "endgame":
+                return createEndgameFactory();
+            case "ismcts":
+                return ISMCTSAI::new;
+            default:
+                throw new IllegalArgumentException("Unknown AI difficulty: " + difficulty);
+        }
+    }
+
+    /**
+     * Creates a factory for EndgameAI players that share one transposition table per thread.
+     * A game is played from start to end on one thread, so the players of consecutive games on a thread
+     * can reuse the same table instead of each allocating their own. The table is cleared for every new
+     * player, so each game still starts from an empty table and the results do not depend on the order
+     * in which a thread plays its games. Each factory has its own tables, so it must create only one
+     * entrant of a game.
+     *
+     * @return the factory creating EndgameAI players
+     */
+    private static AIFactory createEndgameFactory() {
+        ThreadLocal<TranspositionTable> tables = ThreadLocal.withInitial(() -> new TranspositionTable(
+                Config.getInt("endgameTableSize", 1 << 20), ReplacementPolicy.DEPTH_AND_AGE));
+        return (id, name, seed) -> {
+            TranspositionTable table = tables.get();
+            table.clear();
+            return new EndgameAI(id, name, table, seed);
+        };
+    }
+
+    /**
+     * Runs a tournament from the command line and prints the results.
+     * The first argument is the number of games, followed by the difficulty of each entrant,
+     * for example {@code 100000 easy medium hard}. An argument of the form {@code seed=42}
+     * sets the tournament seed so that the run can be repeated. Without any difficulties,
+     * easy, medium and hard play each other, and a single difficulty is rejected.
+     *
+     * @param args the number of games followed by two to six AI difficulty levels
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+        Tournament tournament = new Tournament();
+        List<String> difficulties = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("seed=")) {
+                tournament.setSeed(Long.parseLong(args[i].substring("seed=".length())));
+            } else {
+                difficulties.add(args[i]);
+            }
+        }
+        if (difficulties.isEmpty()) {
+            difficulties = Arrays.asList("easy", "medium", "hard");
+        } else if (difficulties.size() < 2) {
+            System.err.println("A tournament needs at least 2 entrants, got: " + difficulties.get(0));
+            System.err.println("Usage: Tournament [games] [difficulty difficulty ...] [seed=N]");
+            System.exit(1);
+        }
+
+        for (String difficulty : difficulties) {
+            tournament.addEntrant(difficulty, createFactory(difficulty));
+        }
+
+        System.out.printf("Playing %d games on %d threads with seed %d...%n",
+                games, Runtime.getRuntime().availableProcessors(), tournament.getSeed());
+        System.out.print(tournament.run(games));
+    }
+}
@@ -0,0 +1,129 @@
+package com.paradegame.simulation;
+
+/**
+ * Holds the results of a tournament, including the number of wins and the total score of each entrant.
+ * Each worker fills its own TournamentResult and the partial results are merged at the end,
+ * so no result is ever shared between threads while games are being played.
+ */
+public class TournamentResult {
+    private final String[] names;
+    private final long[] wins;
+    private final long[] totalScores;
+    private long games;
+    private long elapsedNanos;
+
+    /**
+     * Constructs a new empty TournamentResult for the given entrants.
+     *
+     * @param names the names of the entrants
+     */
+    public TournamentResult(String[] names) {
+        this.names = names;
+        this.wins = new long[names.length];
+        this.totalScores = new long[names.length];
+    }
+
+    /**
+     * Records the outcome of a single game.
+     *
+     * @param scores the final score of each entrant, indexed by entrant
+     * @param winner the index of the entrant who won the game
+     */
+    public void recordGame(int[] scores, int winner) {
+        for (int i = 0; i < scores.length; i++) {
+            totalScores[i] += scores[i];
+        }
+        wins[winner]++;
+        games++;
+    }
+
+    /**
+     * Adds the results of another tournament result to this one.
+     *
+     * @param other the result to merge into this one
+     * @return this result, for chaining
+     */
+    public TournamentResult merge(TournamentResult other) {
+        for (int i = 0; i < names.length; i++) {
+            wins[i] += other.wins[i];
+            totalScores[i] += other.totalScores[i];
+        }
+        games += other.games;
+        return this;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the number of games played
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won by an entrant.
+     *
+     * @param entrant the index of the entrant
+     * @return the number of games won
+     */
+    public long getWins(int entrant) {
+        return wins[entrant];
+    }
+
+    /**
+     * Gets the fraction of games won by an entrant.
+     *
+     * @param entrant the index of the entrant
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate(int entrant) {
+        return games == 0 ? 0 : (double) wins[entrant] / games;
+    }
+
+    /**
+     * Gets the mean final score of an entrant.
+     *
+     * @param entrant the index of the entrant
+     * @return the mean score over all games played
+     */
+    public double getMeanScore(int entrant) {
+        return games == 0 ? 0 : (double) totalScores[entrant] / games;
+    }
+
+    /**
+     * Sets the wall-clock time taken to play the games.
+     *
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of games played per second of wall-clock time.
+     *
+     * @return the throughput in games per second
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns a table of the win rate and mean score of every entrant, followed by the throughput.
+     *
+     * @return a formatted summary of the results
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-12s %10s %10s %12s%n", "Entrant", "Wins", "Win rate", "Mean score"));
+        for (int i = 0; i < names.length; i++) {
+            sb.append(String.format("%-12s %10d %9.2f%% %12.2f%n",
+                    names[i], wins[i], getWinRate(i) * 100, getMeanScore(i)));
+        }
+        sb.append(String.format("%d games in %.2f s (%.0f games/sec)%n",
+                games, elapsedNanos / 1e9, getGamesPerSecond()));
+        return sb.toString();
+    }
+}
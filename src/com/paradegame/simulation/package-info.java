@@ -0,0 +1,6 @@
+/**
+ * This package contains classes for running large numbers of headless AI-only games,
+ * such as the Tournament class used to compare AI players against each other
+ * and the BatchSimulator used to play large batches of games with a simple policy in lockstep.
+ */
+package com.paradegame.simulation;
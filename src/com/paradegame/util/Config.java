@@ -7,6 +7,8 @@ import java.util.Properties;
 /**
  * The Config class loads configuration settings from a properties file and provides utility methods
  * to retrieve values for different types (String, int, boolean).
+ * A system property with the same key, such as {@code -DcardsPerColor=9}, overrides the file,
+ * which lets benchmarks and simulations run with a different configuration.
  */
 public class Config {
     // Stores the configuration properties loaded from the file
@@ -29,7 +31,7 @@ public class Config {
      * @return the value of the property, or the default value if not found
      */
     public static String get(String key, String defaultValue) {
-        return props.getProperty(key, defaultValue);
+        return System.getProperty(key, props.getProperty(key, defaultValue));
     }
 
     /**
@@ -41,7 +43,7 @@ public class Config {
      */
     public static int getInt(String key, int defaultValue) {
         try {
-            return Integer.parseInt(props.getProperty(key));
+            return Integer.parseInt(get(key, null));
         } catch (Exception e) {
             return defaultValue;
         }
@@ -56,7 +58,7 @@ public class Config {
      */
     public static boolean getBoolean(String key, boolean defaultValue) {
         try {
-            return Boolean.parseBoolean(props.getProperty(key));
+            return Boolean.parseBoolean(get(key, null));
         } catch (Exception e) {
             return defaultValue;
         }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import com.paradegame.model.*;
@@ -27,12 +28,26 @@ public class CardDisplayer {
      *                      {@code false} for original order
      */
     public void displayCards(List<Card> cards, boolean groupByColour) {
+        displayCards(cards, groupByColour, Collections.emptySet());
+    }
+
+    /**
+     * Displays cards in a linear format, showing the cards of the given colours as flipped.
+     * This is used at the end of the game, when the colours a player holds the majority of
+     * are flipped and each card of those colours is worth 1 point.
+     *
+     * @param cards          the list of cards to be display
+     * @param groupByColour {@code true} for grouped/sorted display, 
+     *                      {@code false} for original order
+     * @param flippedColours the colours whose cards are shown as flipped
+     */
+    public void displayCards(List<Card> cards, boolean groupByColour, Set<Colour> flippedColours) {
         System.out.print("[ ");
 
         if (groupByColour) {
-            displayGroupedAndSortedCards(cards);
+            displayGroupedAndSortedCards(cards, flippedColours);
         } else {
-            printCardsInLine(cards);
+            printCardsInLine(cards, flippedColours);
         }
 
         System.out.println(" ]");
@@ -55,10 +70,12 @@ public class CardDisplayer {
      * Prints the cards in a single line, separated by commas.
      *
      * @param cards the list of cards to be printed
+     * @param flippedColours the colours whose cards are shown as flipped
      */
-    private void printCardsInLine(List<Card> cards) {
+    private void printCardsInLine(List<Card> cards, Set<Colour> flippedColours) {
         for (int i = 0; i < cards.size(); i++) {
-            System.out.print(cards.get(i));
+            Card card = cards.get(i);
+            System.out.print(card.toString(flippedColours.contains(card.getColour())));
             if (i < cards.size() - 1) {
                 System.out.print(", ");
             }
@@ -69,8 +86,9 @@ public class CardDisplayer {
      * Displays the cards grouped by their colour and sorted by value within each group.
      *
      * @param cards the list of cards to be grouped and sorted
+     * @param flippedColours the colours whose cards are shown as flipped
      */
-    private void displayGroupedAndSortedCards(List<Card> cards) {
+    private void displayGroupedAndSortedCards(List<Card> cards, Set<Colour> flippedColours) {
         Map<Colour, List<Card>> groupedCards = groupCardsByColour(cards);
         sortCardsInGroups(groupedCards);
 
@@ -85,7 +103,7 @@ public class CardDisplayer {
             }
             isFirstColourGroup = false;
 
-            printCardsInLine(cardsInGroup);
+            printCardsInLine(cardsInGroup, flippedColours);
         }
     }
 
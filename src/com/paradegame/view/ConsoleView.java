@@ -351,9 +351,9 @@ public class ConsoleView {
      * 
      * @param gameState the final state of the game, containing player information.
      * @param winner the player who won the game.
-     * @param scores a map associating each player with their final score.
+     * @param scores the final score of each player and the colours they flipped.
      */
-    public void displayWinner(GameState gameState, Player winner, Map<Player, Integer> scores) {
+    public void displayWinner(GameState gameState, Player winner, ScoreResult scores) {
         try {
             Thread.sleep(2000);
             System.out.println("\n================= GAME OVER ================");
@@ -362,7 +362,7 @@ public class ConsoleView {
             System.out.println("\n--- FINAL CARDS COLLECTED ---");
             for (Player player : gameState.getPlayers()) {
                 System.out.println(player.getName() + ":");
-                cardDisplayer.displayCards(player.getCollected(), true);
+                cardDisplayer.displayCards(player.getCollected(), true, scores.getFlippedColours(player));
                 Thread.sleep(100);
             }
 
@@ -372,7 +372,7 @@ public class ConsoleView {
 
             System.out.println("\n--- FINAL SCORES ---");
             for (Player player : gameState.getPlayers()) {
-                System.out.println(player.getName() + ": " + scores.get(player));
+                System.out.println(player.getName() + ": " + scores.getScore(player));
                 Thread.sleep(500);
             }
 
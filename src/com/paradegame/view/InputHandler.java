@@ -11,6 +11,7 @@ import com.paradegame.model.*;
 public class InputHandler {
     private final Scanner scanner;
     private final ConsoleView consoleView;
+    private final ParadePreview preview = new ParadePreview();
 
     /**
      * Constructs an InputHandler instance, initialising the scanner and consoleView.
@@ -154,6 +155,12 @@ public class InputHandler {
 
         consoleView.displayTurnPrompt(player.getName());
 
+        // What each card would collect does not change while the player makes up their mind
+        Parade parade = gameState.getParade();
+        if (!gameState.isDiscardPhase()) {
+            parade.previewAll(player.getHand(), preview);
+        }
+
         do {
             // Get a valid card index
             cardIndex = getValidCard(player, gameState.isDiscardPhase());
@@ -162,7 +169,10 @@ public class InputHandler {
             Card selectedCard = player.getHand().get(cardIndex);
 
             if (!gameState.isDiscardPhase()) {
-                List<Card> possibleCollectedCards = gameState.getParade().simulateCollectedCards(selectedCard);
+                // A parade too long for the preview's masks is simulated for the selected card alone
+                List<Card> possibleCollectedCards = preview.hasMasks()
+                        ? parade.getCards(preview.getMask(cardIndex))
+                        : parade.simulateCollectedCards(selectedCard);
                 consoleView.displayMove(selectedCard, possibleCollectedCards);
             }
 
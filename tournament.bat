@@ -0,0 +1 @@
+java -cp classes com/paradegame/simulation/Tournament "$@"
\ No newline at end of file